@@ -0,0 +1,132 @@
+package com.excel.benchmark;
+
+import com.excel.Excel;
+import com.excel.NetworkExcel;
+import com.excel.enums.WriteProfile;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 写入基准的公共部分：Excel 写文件，NetworkExcel 写到只计数的输出流；行数和格式由子类的参数决定
+ * Common part of the write benchmarks: Excel writes to a file, NetworkExcel writes to an output stream that only
+ * counts the bytes; the rows and format come from the parameters of the subclasses
+ *
+ * @author heng.lei
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public abstract class AbstractWriteBenchmark {
+
+    public enum Api {
+        EXCEL, NETWORK_EXCEL
+    }
+
+    public enum Format {
+        XLSX, XLSX_STREAMING, CSV
+    }
+
+    @Param
+    public Shape shape;
+
+    @Param
+    public Api api;
+
+    @Param
+    public WriteProfile profile;
+
+    private List<Object> data;
+
+    private File file;
+
+    /**
+     * 每次调用写入的行数和字节数，JMH按时间归一化为每秒行数和字节数
+     * Rows and bytes written per invocation, JMH normalizes them to rows and bytes per second
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+
+        public long rows;
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+            bytes = 0;
+        }
+    }
+
+    /**
+     * 每次写入的行数
+     * Rows per write
+     */
+    protected abstract int rows();
+
+    /**
+     * 输出格式
+     * Output format
+     */
+    protected abstract Format format();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        data = Fixtures.rows(shape, rows());
+        file = File.createTempFile("excel-bench-write", format() == Format.CSV ? ".csv" : ".xlsx");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (file != null) {
+            file.delete();
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void write(Counters counters) {
+        Format format = format();
+        if (api == Api.EXCEL) {
+            Excel excel = Excel.dataType(shape.type()).fileName(file.getPath()).sheet(Fixtures.SHEET)
+                    .writeProfile(profile);
+            if (format == Format.XLSX_STREAMING) {
+                excel.streaming();
+            }
+            excel.doWrite(data);
+            counters.bytes += file.length();
+        } else {
+            CountingOutputStream out = new CountingOutputStream();
+            NetworkExcel excel = NetworkExcel.dataType(shape.type()).outputStream(out).sheet(Fixtures.SHEET)
+                    .writeProfile(profile);
+            if (format == Format.XLSX_STREAMING) {
+                excel.streaming();
+            } else if (format == Format.CSV) {
+                excel.csv();
+            }
+            excel.doWrite(data);
+            counters.bytes += out.count;
+        }
+        counters.rows += rows();
+    }
+}
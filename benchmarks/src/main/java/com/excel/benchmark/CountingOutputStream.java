@@ -0,0 +1,24 @@
+package com.excel.benchmark;
+
+import java.io.OutputStream;
+
+/**
+ * 丢弃写入的字节，只记录字节数
+ * Discards the written bytes and only counts them
+ *
+ * @author heng.lei
+ */
+final class CountingOutputStream extends OutputStream {
+
+    long count;
+
+    @Override
+    public void write(int b) {
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        count += len;
+    }
+}
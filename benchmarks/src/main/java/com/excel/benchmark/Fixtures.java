@@ -0,0 +1,86 @@
+package com.excel.benchmark;
+
+import com.excel.Excel;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 可复现的基准测试数据：固定种子生成数据，读取用的文件按形状、行数和格式缓存在磁盘上，只生成一次
+ * Reproducible benchmark data: data is generated from a fixed seed, the files used by the read benchmarks are cached
+ * on disk by shape, row count and format and generated only once
+ * <p>
+ * 缓存目录由系统属性 excel.bench.dir 指定，默认为临时目录下的 excel-bench
+ * The cache directory is given by the system property excel.bench.dir, it defaults to excel-bench under the temp
+ * directory
+ *
+ * @author heng.lei
+ */
+public final class Fixtures {
+
+    /**
+     * 所有数据的随机种子
+     * Random seed of all data
+     */
+    public static final long SEED = 20200101L;
+
+    /**
+     * 所有文件的sheet名称
+     * Sheet name of all files
+     */
+    public static final String SHEET = "data";
+
+    private Fixtures() {
+    }
+
+    /**
+     * 生成 rows 行数据
+     * Generate rows of data
+     *
+     * @param shape 数据形状(data shape)
+     * @param rows  行数(number of rows)
+     * @return 数据(data)
+     */
+    public static List<Object> rows(Shape shape, int rows) {
+        Random random = new Random(SEED + shape.ordinal());
+        List<Object> data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            data.add(shape.row(i, random));
+        }
+        return data;
+    }
+
+    /**
+     * 读取用的文件，不存在时生成
+     * File used by the read benchmarks, generated when missing
+     *
+     * @param shape     数据形状(data shape)
+     * @param rows      行数(number of rows)
+     * @param extension 文件后缀，.xlsx 或 .csv(file extension, .xlsx or .csv)
+     * @return 文件(file)
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static synchronized File file(Shape shape, int rows, String extension) {
+        File dir = new File(System.getProperty("excel.bench.dir",
+                new File(System.getProperty("java.io.tmpdir"), "excel-bench").getPath()));
+        File file = new File(dir, shape.name().toLowerCase() + "-" + rows + extension);
+        if (file.isFile()) {
+            return file;
+        }
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IllegalStateException("cannot create " + dir);
+        }
+        File temp = new File(dir, file.getName() + ".tmp" + extension);
+        Excel excel = Excel.dataType(shape.type()).fileName(temp.getPath()).sheet(Fixtures.SHEET);
+        if (!".csv".equals(extension)) {
+            excel.streaming();
+        }
+        excel.doWrite(rows(shape, rows));
+        if (!temp.renameTo(file)) {
+            throw new IllegalStateException("cannot rename " + temp + " to " + file);
+        }
+        return file;
+    }
+}
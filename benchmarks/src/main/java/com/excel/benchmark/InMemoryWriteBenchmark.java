@@ -0,0 +1,25 @@
+package com.excel.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * 内存中XSSF workbook的写入基准，只到10万行：100万行需要的堆远超4g
+ * Write benchmarks of the in-memory XSSF workbook, only up to 100k rows: 1M rows need far more than a 4g heap
+ *
+ * @author heng.lei
+ */
+public class InMemoryWriteBenchmark extends AbstractWriteBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Override
+    protected int rows() {
+        return rows;
+    }
+
+    @Override
+    protected Format format() {
+        return Format.XLSX;
+    }
+}
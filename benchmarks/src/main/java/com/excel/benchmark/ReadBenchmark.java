@@ -0,0 +1,139 @@
+package com.excel.benchmark;
+
+import com.excel.Excel;
+import com.excel.ExcelInterface;
+import com.excel.NetworkExcel;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 读取基准：Excel 从缓存的文件读取，NetworkExcel 从内存中的字节读取
+ * Read benchmarks: Excel reads the cached file, NetworkExcel reads the bytes from memory
+ *
+ * @author heng.lei
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class ReadBenchmark {
+
+    public enum Api {
+        EXCEL, NETWORK_EXCEL
+    }
+
+    public enum Source {
+        XLSX, CSV
+    }
+
+    /**
+     * LIST 把所有实体收集到列表，CONSUMER 逐行回调不保留实体，BATCHES 列式读取不创建实体
+     * LIST collects all entities into a list, CONSUMER calls back row by row without keeping the entities, BATCHES
+     * reads columnar batches without creating entities
+     */
+    public enum Collect {
+        LIST, CONSUMER, BATCHES
+    }
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    @Param
+    public Shape shape;
+
+    @Param
+    public Api api;
+
+    @Param
+    public Source source;
+
+    @Param
+    public Collect collect;
+
+    private File file;
+
+    private byte[] bytes;
+
+    /**
+     * 每次调用读取的行数，JMH按时间归一化为每秒行数
+     * Rows read per invocation, JMH normalizes them to rows per second
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Fixtures.file(shape, rows, source == Source.CSV ? ".csv" : ".xlsx");
+        if (api == Api.NETWORK_EXCEL) {
+            bytes = Files.readAllBytes(file.toPath());
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void read(Counters counters, Blackhole blackhole) {
+        Class type = shape.type();
+        ExcelInterface excel;
+        if (api == Api.EXCEL) {
+            excel = Excel.dataType(type).fileName(file.getPath()).sheet(Fixtures.SHEET);
+        } else {
+            NetworkExcel networkExcel = NetworkExcel.dataType(type).inputStream(new ByteArrayInputStream(bytes))
+                    .sheet(Fixtures.SHEET);
+            if (source == Source.CSV) {
+                networkExcel.csv();
+            }
+            excel = networkExcel;
+        }
+        long[] count = new long[1];
+        switch (collect) {
+            case LIST:
+                List<?> list = excel.doRead(type);
+                count[0] = list.size();
+                blackhole.consume(list);
+                break;
+            case CONSUMER:
+                excel.doRead(type, row -> {
+                    count[0]++;
+                    blackhole.consume(row);
+                });
+                break;
+            default:
+                excel.doReadBatches(type, batch -> {
+                    count[0] += batch.size();
+                    blackhole.consume(batch);
+                });
+                break;
+        }
+        counters.rows += count[0];
+    }
+}
@@ -0,0 +1,127 @@
+package com.excel.benchmark;
+
+import com.excel.benchmark.model.DateRow;
+import com.excel.benchmark.model.NarrowRow;
+import com.excel.benchmark.model.NumberRow;
+import com.excel.benchmark.model.StringRow;
+import com.excel.benchmark.model.WideRow;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Random;
+
+/**
+ * 基准测试的数据形状，每种形状按行号和随机数生成一行，相同的种子生成相同的数据
+ * Data shapes of the benchmarks, each shape generates a row from the row number and a random, the same seed
+ * generates the same data
+ *
+ * @author heng.lei
+ */
+public enum Shape {
+
+    NARROW(NarrowRow.class) {
+        @Override
+        Object row(int i, Random random) {
+            return new NarrowRow((long) i, word(random), amount(random), date(random));
+        }
+    },
+
+    WIDE(WideRow.class) {
+        @Override
+        Object row(int i, Random random) {
+            Object[] values = new Object[24];
+            for (int group = 0; group < 4; group++) {
+                int base = group * 6;
+                values[base] = (long) i * 4 + group;
+                values[base + 1] = word(random);
+                values[base + 2] = amount(random);
+                values[base + 3] = date(random);
+                values[base + 4] = random.nextInt(10_000);
+                values[base + 5] = random.nextBoolean();
+            }
+            return new WideRow(values);
+        }
+    },
+
+    DATES(DateRow.class) {
+        @Override
+        Object row(int i, Random random) {
+            long seconds = BASE_EPOCH_SECONDS + random.nextInt(DATE_RANGE_SECONDS);
+            LocalDateTime time = LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+            return new DateRow((long) i, date(random), time.toLocalDate().minusYears(30), time,
+                    Instant.ofEpochSecond(seconds + 86_400L * 365), LocalDate.ofEpochDay(time.toLocalDate()
+                    .toEpochDay() + random.nextInt(90)));
+        }
+    },
+
+    STRINGS(StringRow.class) {
+        @Override
+        Object row(int i, Random random) {
+            return new StringRow("C" + (100_000 + i), STATUS[random.nextInt(STATUS.length)],
+                    COUNTRY[random.nextInt(COUNTRY.length)], "category-" + random.nextInt(50),
+                    "user" + random.nextInt(1_000_000) + "@example.com",
+                    random.nextInt(9_999) + " " + word(random) + " Street, Building " + random.nextInt(100),
+                    text(random, 8 + random.nextInt(24)), Long.toHexString(random.nextLong()));
+        }
+    },
+
+    NUMBERS(NumberRow.class) {
+        @Override
+        Object row(int i, Random random) {
+            return new NumberRow(i, random.nextInt(1_000), random.nextDouble() * 1_000, random.nextFloat(),
+                    amount(random), BigDecimal.valueOf(random.nextInt(100_000), 3), random.nextInt(),
+                    random.nextGaussian() * 100);
+        }
+    };
+
+    /**
+     * 生成日期的起点，固定为2020-01-01T00:00:00Z，保证数据可复现
+     * Start of the generated dates, fixed to 2020-01-01T00:00:00Z so the data is reproducible
+     */
+    static final long BASE_EPOCH_SECONDS = 1_577_836_800L;
+
+    static final int DATE_RANGE_SECONDS = 5 * 365 * 86_400;
+
+    private static final String[] STATUS = {"NEW", "PAID", "SHIPPED", "DONE", "CANCELLED"};
+
+    private static final String[] COUNTRY = {"CN", "US", "DE", "JP", "FR", "GB", "BR", "IN"};
+
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    private final Class<?> type;
+
+    Shape(Class<?> type) {
+        this.type = type;
+    }
+
+    public Class<?> type() {
+        return type;
+    }
+
+    abstract Object row(int i, Random random);
+
+    private static String word(Random random) {
+        return text(random, 4 + random.nextInt(8));
+    }
+
+    private static String text(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+        }
+        chars[0] = Character.toUpperCase(chars[0]);
+        return new String(chars);
+    }
+
+    private static BigDecimal amount(Random random) {
+        return BigDecimal.valueOf(random.nextInt(10_000_000), 2);
+    }
+
+    private static Date date(Random random) {
+        return new Date((BASE_EPOCH_SECONDS + random.nextInt(DATE_RANGE_SECONDS)) * 1000L);
+    }
+}
@@ -0,0 +1,28 @@
+package com.excel.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * 流式xlsx和CSV的写入基准，1万到100万行
+ * Write benchmarks of streaming xlsx and CSV, 10k to 1M rows
+ *
+ * @author heng.lei
+ */
+public class WriteBenchmark extends AbstractWriteBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"XLSX_STREAMING", "CSV"})
+    public Format format;
+
+    @Override
+    protected int rows() {
+        return rows;
+    }
+
+    @Override
+    protected Format format() {
+        return format;
+    }
+}
@@ -0,0 +1,47 @@
+package com.excel.benchmark.model;
+
+import com.excel.anno.ExcelAnno;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * 以日期列为主的实体
+ * Entity dominated by date columns
+ *
+ * @author heng.lei
+ */
+public class DateRow {
+
+    @ExcelAnno("Id")
+    private Long id;
+
+    @ExcelAnno(value = "Created", format = "yyyy-MM-dd HH:mm:ss")
+    private Date created;
+
+    @ExcelAnno(value = "Birthday", format = "yyyy-MM-dd")
+    private LocalDate birthday;
+
+    @ExcelAnno(value = "Updated", format = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updated;
+
+    @ExcelAnno(value = "Expires", format = "yyyy-MM-dd HH:mm:ss")
+    private Instant expires;
+
+    @ExcelAnno(value = "Due", format = "yyyy-MM-dd")
+    private LocalDate due;
+
+    public DateRow() {
+    }
+
+    public DateRow(Long id, Date created, LocalDate birthday, LocalDateTime updated, Instant expires, LocalDate due) {
+        this.id = id;
+        this.created = created;
+        this.birthday = birthday;
+        this.updated = updated;
+        this.expires = expires;
+        this.due = due;
+    }
+}
@@ -0,0 +1,37 @@
+package com.excel.benchmark.model;
+
+import com.excel.anno.ExcelAnno;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * 4列的窄实体
+ * Narrow entity with 4 columns
+ *
+ * @author heng.lei
+ */
+public class NarrowRow {
+
+    @ExcelAnno("Id")
+    private Long id;
+
+    @ExcelAnno("Name")
+    private String name;
+
+    @ExcelAnno("Amount")
+    private BigDecimal amount;
+
+    @ExcelAnno(value = "Created", format = "yyyy-MM-dd HH:mm:ss")
+    private Date created;
+
+    public NarrowRow() {
+    }
+
+    public NarrowRow(Long id, String name, BigDecimal amount, Date created) {
+        this.id = id;
+        this.name = name;
+        this.amount = amount;
+        this.created = created;
+    }
+}
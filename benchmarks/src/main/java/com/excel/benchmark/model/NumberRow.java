@@ -0,0 +1,53 @@
+package com.excel.benchmark.model;
+
+import com.excel.anno.ExcelAnno;
+
+import java.math.BigDecimal;
+
+/**
+ * 以数字列为主的实体
+ * Entity dominated by number columns
+ *
+ * @author heng.lei
+ */
+public class NumberRow {
+
+    @ExcelAnno("Id")
+    private long id;
+
+    @ExcelAnno("Quantity")
+    private int quantity;
+
+    @ExcelAnno("Price")
+    private double price;
+
+    @ExcelAnno("Discount")
+    private Float discount;
+
+    @ExcelAnno("Total")
+    private BigDecimal total;
+
+    @ExcelAnno("Tax")
+    private BigDecimal tax;
+
+    @ExcelAnno("Stock")
+    private Integer stock;
+
+    @ExcelAnno("Weight")
+    private Double weight;
+
+    public NumberRow() {
+    }
+
+    public NumberRow(long id, int quantity, double price, Float discount, BigDecimal total, BigDecimal tax,
+                     Integer stock, Double weight) {
+        this.id = id;
+        this.quantity = quantity;
+        this.price = price;
+        this.discount = discount;
+        this.total = total;
+        this.tax = tax;
+        this.stock = stock;
+        this.weight = weight;
+    }
+}
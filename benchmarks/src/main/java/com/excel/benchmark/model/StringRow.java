@@ -0,0 +1,52 @@
+package com.excel.benchmark.model;
+
+import com.excel.anno.ExcelAnno;
+
+/**
+ * 以字符串列为主的实体，低基数列适合共享字符串，高基数列适合内联字符串
+ * Entity dominated by string columns, low cardinality columns suit shared strings and high cardinality columns suit
+ * inline strings
+ *
+ * @author heng.lei
+ */
+public class StringRow {
+
+    @ExcelAnno("Code")
+    private String code;
+
+    @ExcelAnno("Status")
+    private String status;
+
+    @ExcelAnno("Country")
+    private String country;
+
+    @ExcelAnno("Category")
+    private String category;
+
+    @ExcelAnno("Email")
+    private String email;
+
+    @ExcelAnno("Address")
+    private String address;
+
+    @ExcelAnno("Remark")
+    private String remark;
+
+    @ExcelAnno("Token")
+    private String token;
+
+    public StringRow() {
+    }
+
+    public StringRow(String code, String status, String country, String category, String email, String address,
+                     String remark, String token) {
+        this.code = code;
+        this.status = status;
+        this.country = country;
+        this.category = category;
+        this.email = email;
+        this.address = address;
+        this.remark = remark;
+        this.token = token;
+    }
+}
@@ -0,0 +1,120 @@
+package com.excel.benchmark.model;
+
+import com.excel.anno.ExcelAnno;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * 24列的宽实体，数字、字符串、日期和布尔列交替出现
+ * Wide entity with 24 columns, number, string, date and boolean columns alternate
+ *
+ * @author heng.lei
+ */
+public class WideRow {
+
+    @ExcelAnno("Id1")
+    private Long id1;
+
+    @ExcelAnno("Name1")
+    private String name1;
+
+    @ExcelAnno("Amount1")
+    private BigDecimal amount1;
+
+    @ExcelAnno(value = "Date1", format = "yyyy-MM-dd")
+    private Date date1;
+
+    @ExcelAnno("Count1")
+    private Integer count1;
+
+    @ExcelAnno("Flag1")
+    private Boolean flag1;
+
+    @ExcelAnno("Id2")
+    private Long id2;
+
+    @ExcelAnno("Name2")
+    private String name2;
+
+    @ExcelAnno("Amount2")
+    private BigDecimal amount2;
+
+    @ExcelAnno(value = "Date2", format = "yyyy-MM-dd")
+    private Date date2;
+
+    @ExcelAnno("Count2")
+    private Integer count2;
+
+    @ExcelAnno("Flag2")
+    private Boolean flag2;
+
+    @ExcelAnno("Id3")
+    private Long id3;
+
+    @ExcelAnno("Name3")
+    private String name3;
+
+    @ExcelAnno("Amount3")
+    private BigDecimal amount3;
+
+    @ExcelAnno(value = "Date3", format = "yyyy-MM-dd")
+    private Date date3;
+
+    @ExcelAnno("Count3")
+    private Integer count3;
+
+    @ExcelAnno("Flag3")
+    private Boolean flag3;
+
+    @ExcelAnno("Id4")
+    private Long id4;
+
+    @ExcelAnno("Name4")
+    private String name4;
+
+    @ExcelAnno("Amount4")
+    private BigDecimal amount4;
+
+    @ExcelAnno(value = "Date4", format = "yyyy-MM-dd")
+    private Date date4;
+
+    @ExcelAnno("Count4")
+    private Integer count4;
+
+    @ExcelAnno("Flag4")
+    private Boolean flag4;
+
+    public WideRow() {
+    }
+
+    /**
+     * @param values 按字段声明顺序的值(values in field declaration order)
+     */
+    public WideRow(Object[] values) {
+        this.id1 = (Long) values[0];
+        this.name1 = (String) values[1];
+        this.amount1 = (BigDecimal) values[2];
+        this.date1 = (Date) values[3];
+        this.count1 = (Integer) values[4];
+        this.flag1 = (Boolean) values[5];
+        this.id2 = (Long) values[6];
+        this.name2 = (String) values[7];
+        this.amount2 = (BigDecimal) values[8];
+        this.date2 = (Date) values[9];
+        this.count2 = (Integer) values[10];
+        this.flag2 = (Boolean) values[11];
+        this.id3 = (Long) values[12];
+        this.name3 = (String) values[13];
+        this.amount3 = (BigDecimal) values[14];
+        this.date3 = (Date) values[15];
+        this.count3 = (Integer) values[16];
+        this.flag3 = (Boolean) values[17];
+        this.id4 = (Long) values[18];
+        this.name4 = (String) values[19];
+        this.amount4 = (BigDecimal) values[20];
+        this.date4 = (Date) values[21];
+        this.count4 = (Integer) values[22];
+        this.flag4 = (Boolean) values[23];
+    }
+}
@@ -1,20 +1,65 @@
 package com.excel;
 
-import com.excel.anno.ExcelAnno;
-import com.excel.enums.Type;
+import com.excel.columnar.ColumnBatch;
+import com.excel.columnar.ColumnBatchVisitor;
+import com.excel.columnar.ColumnData;
+import com.excel.csv.CsvReader;
+import com.excel.csv.CsvWriter;
+import com.excel.enums.StringStrategy;
+import com.excel.enums.WriteProfile;
 import com.excel.exception.ExcelException;
 import com.excel.exception.FileNotFindException;
+import com.excel.meta.ExcelMapping;
+import com.excel.meta.FieldMapping;
+import com.excel.memory.MemoryCosts;
+import com.excel.memory.MemoryGovernor;
+import com.excel.metrics.ExcelListener;
+import com.excel.metrics.MetricsRecorder;
+import com.excel.metrics.Operation;
+import com.excel.metrics.Phase;
+import com.excel.metrics.TimedRowVisitor;
+import com.excel.sax.BeanRowVisitor;
+import com.excel.sax.ParallelRowVisitor;
+import com.excel.sax.RawRow;
+import com.excel.sax.RowCountEstimator;
+import com.excel.sax.RowVisitor;
+import com.excel.sax.SheetReader;
+import com.excel.sax.WorkbookReader;
+import com.excel.utils.AssertUtils;
+import com.excel.utils.AsyncExecutors;
+import com.excel.utils.ForkTask;
+import com.excel.write.PageIterator;
+import com.excel.write.SharedStringsPolicy;
+import com.excel.write.SheetWriter;
+import com.excel.write.StreamingWorkbook;
+import com.excel.write.XlsxAppender;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.lang.reflect.Field;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.BitSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * 抽象excel接口实现类
@@ -34,6 +79,17 @@ public abstract class AbstractExcel implements ExcelInterface {
      */
     protected final String xlsx = ".xlsx";
 
+    /**
+     * csv
+     */
+    protected final String csv = ".csv";
+
+    /**
+     * xlsx一个sheet最多的数据行数，第一行是表头
+     * Maximum number of data rows of an xlsx sheet, the first row is the header
+     */
+    public static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows() - 1;
+
 
     /**
      * sheet
@@ -53,6 +109,132 @@ public abstract class AbstractExcel implements ExcelInterface {
      */
     protected Class<?> dataClass;
 
+    /**
+     * 是否流式写入(SXSSF)
+     * Whether to write in streaming mode (SXSSF)
+     */
+    protected boolean streaming;
+
+    /**
+     * 流式写入时内存中保留的行数
+     * Number of rows kept in memory when streaming
+     */
+    protected int rowAccessWindowSize = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+
+    /**
+     * 流式写入时是否压缩临时文件，null时由 writeProfile 决定
+     * Whether to compress the temp files when streaming, null leaves it to writeProfile
+     */
+    protected Boolean compressTempFiles;
+
+    /**
+     * 写入配置，决定输出的压缩级别、临时文件压缩和输出缓冲区大小
+     * Write profile, decides the output deflate level, the temp file compression and the output buffer size
+     */
+    protected WriteProfile writeProfile = WriteProfile.BALANCED;
+
+    /**
+     * workbook级别的字符串存储方式
+     * Workbook level storage of strings
+     */
+    protected StringStrategy stringStrategy = StringStrategy.DEFAULT;
+
+    /**
+     * 共享字符串表的不同字符串上限
+     * Upper bound of distinct strings in the shared strings table
+     */
+    protected int sharedStringsLimit = SharedStringsPolicy.DEFAULT_LIMIT;
+
+    /**
+     * 每个sheet最多的数据行数(不含表头)，超过后自动写到下一个编号的sheet
+     * Maximum number of data rows per sheet (header excluded), the rest rolls over to the next numbered sheet
+     */
+    protected int maxRowsPerSheet = MAX_ROWS_PER_SHEET;
+
+    /**
+     * 流式写入多个sheet时并发写入、按页写入时预取下一页、逐行读取时并发转换行用的线程池，为null时都在当前线程进行
+     * Executor used to write several sheets concurrently when streaming, to prefetch the next page when writing pages
+     * and to convert rows concurrently when reading row by row, null does everything on the current thread
+     */
+    protected Executor executor;
+
+    /**
+     * 并发读取时是否按行顺序在当前线程回调
+     * Whether to call back in row order on the current thread when reading concurrently
+     */
+    protected boolean keepOrder = true;
+
+    /**
+     * 读取时只填充这些表头名称对应的字段，为null时读取全部字段
+     * Only the fields of these header names are filled when reading, null reads all fields
+     */
+    protected String[] readColumns;
+
+    /**
+     * 读取时按原始值过滤行，被过滤的行不会创建实体类
+     * Filters rows by their raw values when reading, no entity is created for filtered out rows
+     */
+    protected Predicate<RawRow> rowFilter;
+
+    /**
+     * 读取时跳过的数据行数(过滤之后计数)
+     * Number of data rows skipped when reading (counted after filtering)
+     */
+    protected int offset;
+
+    /**
+     * 读取的最大数据行数，读够后停止解析，小于0表示不限制
+     * Maximum number of data rows read, parsing stops once reached, negative means unlimited
+     */
+    protected int limit = -1;
+
+    /**
+     * 解析出sheet维度信息时回调数据行数的估计值
+     * Called back with the estimated number of data rows once the sheet dimension is parsed
+     */
+    protected IntConsumer rowEstimate;
+
+    /**
+     * 是否以CSV格式读写，本地文件也可以由 .csv 扩展名决定
+     * Whether to read and write CSV, for local files the .csv extension also selects it
+     */
+    protected boolean csvFormat;
+
+    /**
+     * CSV的字符集
+     * Charset of CSV
+     */
+    protected Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * 读写过程的监听器，默认什么都不做
+     * Listener of reads and writes, does nothing by default
+     */
+    protected ExcelListener listener = ExcelListener.NOOP;
+
+    /**
+     * 列式读取时每批的行数
+     * Number of rows per batch of a columnar read
+     */
+    protected int batchSize = ColumnBatch.DEFAULT_CAPACITY;
+
+    /**
+     * 是否追加到已有xlsx文件的 sheet 末尾
+     * Whether to append to the end of sheet in the existing xlsx file
+     */
+    protected boolean append;
+
+    /**
+     * 共享的内存预算，null表示不受限制
+     * Shared memory budget, null means unlimited
+     */
+    protected MemoryGovernor governor;
+
+    /**
+     * 预计的数据行数，供 governor 估计内存，负数表示未知
+     * Expected number of data rows, used by governor to estimate the memory, negative means unknown
+     */
+    protected long expectedRows = -1;
 
     /**
      * 获取文件输出流
@@ -72,6 +254,27 @@ public abstract class AbstractExcel implements ExcelInterface {
      */
     protected abstract InputStream getInputStream(String fileName);
 
+    /**
+     * 获取可以直接打开的输入文件，xlsx不必整个读入内存；为null时从 getInputStream 读取
+     * Get the input file that can be opened directly, so xlsx does not have to be read into memory as a whole; null
+     * reads from getInputStream
+     *
+     * @param fileName 文件路径(File path)
+     * @return File
+     */
+    protected File getInputFile(String fileName) {
+        return null;
+    }
+
+    /**
+     * getInputFile 返回的文件读取完毕，临时文件可以在这里删除
+     * The file returned by getInputFile has been read, temp files can be deleted here
+     *
+     * @param file 输入文件(input file)
+     */
+    protected void releaseInputFile(File file) {
+    }
+
     /**
      * 将实体类中的数据写到excel中
      * Write the data in the entity class into Excel
@@ -80,62 +283,372 @@ public abstract class AbstractExcel implements ExcelInterface {
      * @param <T>      object Type
      */
     protected <T> void write(List<T> dataList) {
-        try (Workbook workbook = new XSSFWorkbook(); OutputStream outStream = getOutputStream(fileName)) {
-            Sheet sheet = workbook.createSheet(this.sheet);
-            Field[] declaredFields = dataClass.getDeclaredFields();
-            Row headerRow = sheet.createRow(0);
-            for (int i = 0; i < declaredFields.length; i++) {
-                ExcelAnno annotation = declaredFields[i].getAnnotation(ExcelAnno.class);
-                Cell cell = headerRow.createCell(i);
-                CellStyle cellStyle = cell.getSheet().getWorkbook().createCellStyle();
-                if (annotation != null) {
-                    cellStyle.setFillForegroundColor(annotation.backgroundColor().index);
-                    cellStyle.setFillPattern(annotation.fillPatternType());
-                    cellStyle.setBorderTop(BorderStyle.THIN);
-                    cellStyle.setTopBorderColor(IndexedColors.BLACK.getIndex());
-                    cellStyle.setBorderRight(BorderStyle.THIN);
-                    cellStyle.setRightBorderColor(IndexedColors.BLACK.getIndex());
-                    cellStyle.setBorderBottom(BorderStyle.THIN);
-                    cellStyle.setBottomBorderColor(IndexedColors.BLACK.getIndex());
-                    cellStyle.setBorderLeft(BorderStyle.THIN);
-                    cellStyle.setLeftBorderColor(IndexedColors.BLACK.getIndex());
-                    if (annotation.height() >= 0) {
-                        headerRow.setHeight(annotation.height());
-                    }
-                    if (annotation.width() >= 0) {
-                        sheet.setColumnWidth(i, annotation.width());
-                    }
-                    if (annotation.isAlignment()) {
-                        cellStyle.setAlignment(HorizontalAlignment.CENTER);
-                    }
-                    if (annotation.isVerticalAlignment()) {
-                        cellStyle.setVerticalAlignment(VerticalAlignment.CENTER);
-                    }
-                    cell.setCellStyle(cellStyle);
-                    cell.setCellValue(annotation.value());
+        ExcelMapping mapping = ExcelMapping.of(dataClass);
+        governWrite(dataList.size(), mapping.getFieldCount(), stream -> {
+            File appendFile = appendTarget();
+            if (appendFile != null) {
+                appendWorkbook(appendFile, mapping.getFields(), dataList.iterator());
+                return;
+            }
+            if (isCsv()) {
+                writeCsv(mapping.getFields(), dataList.iterator());
+                return;
+            }
+            writeWorkbook(mapping.getFields(), mapping.getFieldCount(), stream, writer -> {
+                int sheetCount = (int) Math.max(1, ((long) dataList.size() + maxRowsPerSheet - 1) / maxRowsPerSheet);
+                if (executor != null && stream && sheetCount > 1) {
+                    writeSheetsParallel(writer, dataList, sheetCount);
+                } else {
+                    writeSheets(writer, dataList.iterator());
                 }
+            });
+        });
+    }
+
+    /**
+     * 边迭代边写入，不需要事先把所有数据加载到内存中
+     * Write while iterating, the data never needs to be fully loaded into memory
+     *
+     * @param data 数据(data)
+     * @param <T>  object type
+     */
+    protected <T> void write(Iterator<T> data) {
+        ExcelMapping mapping = ExcelMapping.of(dataClass);
+        governWrite(expectedRows, mapping.getFieldCount(), stream -> {
+            File appendFile = appendTarget();
+            if (appendFile != null) {
+                appendWorkbook(appendFile, mapping.getFields(), data);
+                return;
             }
-            for (int i = 0; i < dataList.size(); i++) {
-                T data = dataList.get(i);
-                Row row = sheet.createRow(i + 1);
-                for (int j = 0; j < declaredFields.length; j++) {
-                    declaredFields[j].setAccessible(true);
-                    ExcelAnno annotation = declaredFields[j].getAnnotation(ExcelAnno.class);
-                    if (annotation != null) {
-                        Object object = declaredFields[j].get(data);
-                        String content = object == null ? "" : Type.getType(declaredFields[j].getType()).format(object, annotation.format());
-                        if (annotation.column() >= 0) {
-                            row.createCell(annotation.column()).setCellValue(content);
-                        } else {
-                            row.createCell(j).setCellValue(content);
-                        }
-                    }
+            if (isCsv()) {
+                writeCsv(mapping.getFields(), data);
+                return;
+            }
+            writeWorkbook(mapping.getFields(), mapping.getFieldCount(), stream, writer -> writeSheets(writer, data));
+        });
+    }
 
-                }
+    /**
+     * 边消费边写入，写完后关闭 stream
+     * Write while consuming, the stream is closed afterwards
+     *
+     * @param data 数据(data)
+     * @param <T>  object type
+     */
+    protected <T> void write(Stream<T> data) {
+        try (Stream<T> stream = data) {
+            write(stream.iterator());
+        }
+    }
+
+    /**
+     * 按页拉取并写入，pages 返回null或空页时结束；设置了 executor 时写入当前页的同时预取下一页，
+     * 返回或抛出异常前会取消或等待预取，之后 pages 不会再被调用
+     * Pull and write page by page until pages returns null or an empty page; with an executor the next page is
+     * prefetched while the current one is written, the prefetch is cancelled or waited for before this returns or
+     * throws, pages is never called afterwards
+     *
+     * @param pages 分页数据(pages of data)
+     * @param <T>   object type
+     */
+    protected <T> void write(Supplier<? extends List<T>> pages) {
+        try (PageIterator<T> iterator = new PageIterator<>(pages, executor)) {
+            write(iterator);
+        }
+    }
+
+    /**
+     * 列式写入：直接从每列的数组取值写入，不需要实体类，也不使用反射；超过 maxRowsPerSheet 的行同样写到下一个sheet
+     * Columnar write: values are taken straight from the array of each column, no entity class and no reflection
+     * are needed; rows beyond maxRowsPerSheet also roll over to the next sheet
+     *
+     * @param data 列式数据(columnar data)
+     */
+    protected void writeColumns(ColumnData data) {
+        FieldMapping[] fields = data.getFields();
+        AssertUtils.isTrue(fields.length > 0, "columnar data has no column");
+        governWrite(data.getRows(), fields.length, stream -> {
+            File appendFile = appendTarget();
+            if (appendFile != null) {
+                appendWorkbook(appendFile, fields, data.iterator());
+                return;
             }
-            workbook.write(outStream);
+            if (isCsv()) {
+                writeCsv(fields, data.iterator());
+                return;
+            }
+            writeWorkbook(fields, fields.length, stream, writer -> writeSheets(writer, data.iterator()));
+        });
+    }
+
+    /**
+     * 在 governor 的内存预算内执行写入，预算不足时排队；内存中写入的估计超过阈值或行数未知时，这次写入改为流式。
+     * 实际的写入方式只传给 job，不修改 streaming 的设置，同一个实例上的并发写入互不影响
+     * Run a write within the memory budget of governor, queueing while it is exhausted; an in-memory write estimated
+     * above the threshold, or with an unknown number of rows, is streamed this time. The effective mode is only
+     * passed to the job and the streaming setting is left untouched, so concurrent writes on one instance do not
+     * affect each other
+     *
+     * @param rows    行数，负数表示未知(rows, negative when unknown)
+     * @param columns 列数(columns)
+     * @param job     写入，参数为是否流式写入(the write, its argument is whether to stream)
+     */
+    private void governWrite(long rows, int columns, Consumer<Boolean> job) {
+        boolean stream = streaming;
+        if (governor == null) {
+            job.accept(stream);
+            return;
+        }
+        long cost;
+        if (append || isCsv()) {
+            cost = MemoryCosts.rowByRow();
+        } else {
+            if (!stream && governor.shouldStream(
+                    rows < 0 ? -1 : MemoryCosts.write(rows, columns, false, rowAccessWindowSize))) {
+                stream = true;
+            }
+            cost = MemoryCosts.write(rows < 0 ? Long.MAX_VALUE : rows, columns, stream, rowAccessWindowSize);
+        }
+        MemoryGovernor.Permit permit = acquire(cost, Operation.WRITE, dataClass);
+        try {
+            job.accept(stream);
+        } finally {
+            permit.close();
+        }
+    }
+
+    private void writeCsv(FieldMapping[] fields, Iterator<?> data) {
+        MetricsRecorder metrics = new MetricsRecorder(listener, Operation.WRITE, dataClass);
+        long rows = 0;
+        try (OutputStream outStream = metrics.count(getOutputStream(fileName))) {
+            CsvWriter writer = new CsvWriter(outStream, charset, fields);
+            metrics.phase(Phase.OPEN);
+            writer.writeHeader();
+            metrics.phase(Phase.HEADER);
+            while (data.hasNext()) {
+                writer.writeRow(data.next());
+                rows++;
+            }
+            writer.flush();
+            metrics.phase(Phase.ROWS);
+        } catch (ExcelException e) {
+            metrics.error(e);
+            throw e;
+        } catch (Exception e) {
+            metrics.error(e);
+            throw new ExcelException(e);
+        } finally {
+            metrics.addRows(rows);
+            metrics.phase(Phase.CLOSE);
+            metrics.complete();
+        }
+    }
+
+    private void writeWorkbook(FieldMapping[] fields, int fieldCount, boolean stream, Consumer<SheetWriter> sheets) {
+        MetricsRecorder metrics = new MetricsRecorder(listener, Operation.WRITE, dataClass);
+        SharedStringsPolicy stringsPolicy = createSharedStringsPolicy(fields, stream);
+        Workbook workbook = createWorkbook(stringsPolicy, stream);
+        SheetWriter writer = null;
+        try (OutputStream outStream = metrics.count(getOutputStream(fileName))) {
+            writer = new SheetWriter(workbook, fields, fieldCount, stringsPolicy);
+            metrics.phase(Phase.OPEN);
+            sheets.accept(writer);
+            metrics.phase(Phase.ROWS, Phase.HEADER, writer.getHeaderNanos());
+            writer.finish();
+            saveWorkbook(workbook, outStream);
+            metrics.phase(Phase.SERIALIZE);
+        } catch (ExcelException e) {
+            metrics.error(e);
+            throw e;
+        } catch (Exception e) {
+            metrics.error(e);
+            throw new ExcelException(e);
+        } finally {
+            closeWorkbook(workbook);
+            if (writer != null) {
+                metrics.addRows(writer.getRowCount());
+            }
+            metrics.phase(Phase.CLOSE);
+            metrics.complete();
+        }
+    }
+
+    /**
+     * 追加写入的目标文件；未开启追加或文件还不存在时为null，此时照常写入新文件
+     * Target file of an append; null when not appending or the file does not exist yet, a new file is written then
+     */
+    private File appendTarget() {
+        if (!append) {
+            return null;
+        }
+        AssertUtils.isTrue(fileName.endsWith(xlsx), "append only supports xlsx");
+        File file = checkFileNameAndCreateFile(fileName);
+        return file.exists() ? file : null;
+    }
+
+    private void appendWorkbook(File file, FieldMapping[] fields, Iterator<?> data) {
+        MetricsRecorder metrics = new MetricsRecorder(listener, Operation.WRITE, dataClass);
+        XlsxAppender appender = new XlsxAppender(file, this::sheetName, fields, maxRowsPerSheet,
+                writeProfile.getDeflateLevel());
+        try {
+            appender.open();
+            metrics.phase(Phase.OPEN);
+            appender.writeRows(data);
+            metrics.phase(Phase.ROWS);
+            appender.commit();
+            metrics.addBytes(file.length());
+            metrics.phase(Phase.SERIALIZE);
+        } catch (ExcelException e) {
+            metrics.error(e);
+            throw e;
         } catch (Exception e) {
+            metrics.error(e);
             throw new ExcelException(e);
+        } finally {
+            appender.close();
+            metrics.addRows(appender.getRowCount());
+            metrics.phase(Phase.CLOSE);
+            metrics.complete();
+        }
+    }
+
+    /**
+     * 在当前线程中依次写入sheet，每个sheet写满 maxRowsPerSheet 行后换到下一个sheet
+     * Write the sheets one after another on the current thread, moving to the next sheet once maxRowsPerSheet rows
+     * are written
+     *
+     * @param writer sheet writer
+     * @param data   数据(data)
+     */
+    protected void writeSheets(SheetWriter writer, Iterator<?> data) {
+        int index = 0;
+        do {
+            Sheet sheet = writer.createSheet(sheetName(index++));
+            writer.writeRows(sheet, data, 1, maxRowsPerSheet);
+        } while (data.hasNext());
+    }
+
+    /**
+     * 先在当前线程中创建所有sheet，再在 executor 上并发写入每个sheet的数据行
+     * Create all sheets on the current thread first, then write the data rows of each sheet concurrently on the
+     * executor
+     *
+     * @param writer     sheet writer
+     * @param dataList   数据(data)
+     * @param sheetCount sheet数量(number of sheets)
+     */
+    private <T> void writeSheetsParallel(SheetWriter writer, List<T> dataList, int sheetCount) {
+        List<ForkTask<Integer>> tasks = new ArrayList<>(sheetCount);
+        for (int i = 0; i < sheetCount; i++) {
+            Sheet sheet = writer.createSheet(sheetName(i));
+            int from = i * maxRowsPerSheet;
+            List<T> part = dataList.subList(from, Math.min(dataList.size(), from + maxRowsPerSheet));
+            tasks.add(ForkTask.fork(() -> writer.writeRows(sheet, part.iterator(), 1, part.size()), executor));
+        }
+        // sheets not started yet are written on this thread, which may itself be a thread of executor
+        tasks.forEach(ForkTask::join);
+    }
+
+    /**
+     * 第几个sheet的名字，第一个sheet就是 sheet，之后依次为 sheet_2、sheet_3...
+     * Name of the sheet at the given index, the first one is sheet itself, then sheet_2, sheet_3...
+     *
+     * @param index sheet下标(sheet index)
+     * @return sheet name
+     */
+    protected String sheetName(int index) {
+        return index == 0 ? this.sheet : this.sheet + "_" + (index + 1);
+    }
+
+    /**
+     * 在 executor 上异步执行，executor 为null时使用默认线程池(JDK 21及以上为虚拟线程)
+     * Run asynchronously on the executor, a null executor uses the default one (virtual threads on JDK 21 and later)
+     *
+     * @param task     任务(task)
+     * @param executor 线程池(executor)
+     * @param <V>      result type
+     * @return CompletableFuture
+     */
+    protected <V> CompletableFuture<V> async(Supplier<V> task, Executor executor) {
+        return CompletableFuture.supplyAsync(task, executor != null ? executor : AsyncExecutors.defaultExecutor());
+    }
+
+    /**
+     * 根据workbook和列上的设置决定每一列字符串的存储方式
+     * Decide the storage of strings for each column from the workbook and column settings
+     *
+     * @param fields 字段映射(field mappings)
+     * @param stream 是否流式写入(streaming or not)
+     * @return SharedStringsPolicy
+     */
+    protected SharedStringsPolicy createSharedStringsPolicy(FieldMapping[] fields, boolean stream) {
+        StringStrategy workbookStrategy = stringStrategy != StringStrategy.DEFAULT ? stringStrategy
+                : stream ? StringStrategy.INLINE : StringStrategy.SHARED;
+        BitSet inlineColumns = new BitSet();
+        boolean sharedColumns = false;
+        for (FieldMapping field : fields) {
+            StringStrategy strategy = field.getColumn().getStringStrategy();
+            if (strategy == StringStrategy.DEFAULT) {
+                strategy = workbookStrategy;
+            }
+            if (strategy == StringStrategy.INLINE) {
+                inlineColumns.set(field.getWriteColumn());
+            } else {
+                sharedColumns = true;
+            }
+        }
+        return new SharedStringsPolicy(inlineColumns, sharedColumns, sharedStringsLimit);
+    }
+
+    /**
+     * 创建写入用的workbook
+     * Create the workbook used for writing
+     *
+     * @param stringsPolicy 字符串策略(string policy)
+     * @param stream        是否流式写入(streaming or not)
+     * @return Workbook
+     */
+    protected Workbook createWorkbook(SharedStringsPolicy stringsPolicy, boolean stream) {
+        if (stream) {
+            boolean compress = compressTempFiles != null ? compressTempFiles : writeProfile.isCompressTempFiles();
+            return new StreamingWorkbook(rowAccessWindowSize, compress, stringsPolicy.hasSharedColumns(),
+                    stringsPolicy, writeProfile.getDeflateLevel());
+        }
+        return new XSSFWorkbook();
+    }
+
+    /**
+     * 把workbook写到输出流，输出zip使用 writeProfile 的压缩级别
+     * Write the workbook to the output stream, the output zip uses the deflate level of writeProfile
+     *
+     * @param workbook  workbook
+     * @param outStream 输出流(output stream)
+     */
+    protected void saveWorkbook(Workbook workbook, OutputStream outStream) throws IOException {
+        if (workbook instanceof StreamingWorkbook) {
+            workbook.write(outStream);
+            return;
+        }
+        // a package saved into a zip stream writes its parts straight into it and finishes it, so the level applies
+        ZipArchiveOutputStream zip = new ZipArchiveOutputStream(outStream);
+        zip.setLevel(writeProfile.getDeflateLevel());
+        workbook.write(zip);
+    }
+
+    /**
+     * 关闭workbook，流式写入时删除临时文件
+     * Close the workbook, and delete the temp files when streaming
+     *
+     * @param workbook workbook
+     */
+    protected void closeWorkbook(Workbook workbook) {
+        try {
+            if (workbook instanceof SXSSFWorkbook) {
+                ((SXSSFWorkbook) workbook).dispose();
+            }
+            workbook.close();
+        } catch (Exception ignored) {
+            // nothing more can be done here, the write result has been decided
         }
     }
 
@@ -148,64 +661,210 @@ public abstract class AbstractExcel implements ExcelInterface {
      * @return 实体类集合(object list)
      */
     protected <R> List<R> read(Class<R> clazz) {
-        List<R> list = new ArrayList<>();
-        try (InputStream inputStream = getInputStream(fileName);
-             Workbook workbook = WorkbookFactory.create(inputStream)) {
-            Sheet sheet = workbook.getSheet(this.sheet);
-            if (sheet == null) {
-                throw new ExcelException("Sheet not found");
-            }
-            Row header = sheet.getRow(0);
-            if (header == null) {
-                return list;
+        return governRead(clazz, true, () -> {
+            List<R> list = new ArrayList<>();
+            BeanRowVisitor<R> visitor = createRowVisitor(clazz, list::add, true);
+            readWithMetrics(clazz, visitor, visitor::getRowCount);
+            return list;
+        });
+    }
+
+    /**
+     * 以SAX方式逐行读取excel，每一行转换成实体类后回调 consumer，xls则退回到整表读取；
+     * 设置了 executor 时行的转换在 executor 上并发进行；读够 limit 行后停止解析
+     * Read Excel row by row with SAX and call back the consumer with each entity, xls falls back to the whole sheet
+     * read; with an executor the rows are converted concurrently on it; parsing stops once limit rows are read
+     *
+     * @param clazz    实体类class
+     * @param consumer 每一行的回调(callback of each row)
+     * @param <R>      object type
+     */
+    protected <R> void read(Class<R> clazz, Consumer<R> consumer) {
+        governRead(clazz, false, () -> {
+            BeanRowVisitor<R> visitor = createRowVisitor(clazz, consumer, keepOrder);
+            readWithMetrics(clazz, visitor, visitor::getRowCount);
+            return null;
+        });
+    }
+
+    /**
+     * 列式读取：行直接解析进可复用的批次(默认4096行)，每批回调一次 consumer，不创建实体类；
+     * 批次在回调之间复用，consumer 不能保存批次或其中的数组；支持 columns、offset/limit 和 rowEstimate，不支持 filter
+     * Columnar read: rows are parsed straight into a reusable batch (4096 rows by default) and the consumer is called
+     * once per batch, no entity is created; the batch is reused between callbacks, so the consumer must not keep the
+     * batch or its arrays; columns, offset/limit and rowEstimate are supported, filter is not
+     *
+     * @param clazz    实体类class，只用来确定列和类型(entity class, only used for the columns and their types)
+     * @param consumer 每一批的回调(callback of each batch)
+     */
+    protected void readBatches(Class<?> clazz, Consumer<ColumnBatch> consumer) {
+        AssertUtils.isTrue(rowFilter == null, "filter is not supported by columnar reads");
+        governRead(clazz, false, () -> {
+            ColumnBatchVisitor visitor = new ColumnBatchVisitor(clazz, consumer, batchSize)
+                    .project(readColumns).range(offset, limit).rowEstimate(rowEstimate);
+            readWithMetrics(clazz, visitor, visitor::getRowCount);
+            return null;
+        });
+    }
+
+    /**
+     * 在 governor 的内存预算内执行读取，预算不足时排队；行数未知时按 governor 的 unknownRows 估计
+     * Run a read within the memory budget of governor, queueing while it is exhausted; an unknown number of rows is
+     * estimated as the unknownRows of governor
+     *
+     * @param clazz    实体类class
+     * @param retained 实体类是否保留到读取结束(whether the entities are kept until the end)
+     * @param job      读取(the read)
+     * @param <V>      result type
+     * @return 读取的结果(result of the read)
+     */
+    private <V> V governRead(Class<?> clazz, boolean retained, Supplier<V> job) {
+        if (governor == null) {
+            return job.get();
+        }
+        long rows = expectedRows >= 0 ? expectedRows : governor.getUnknownRows();
+        long kept = limit >= 0 ? Math.min(rows, limit) : rows;
+        int columns = ExcelMapping.of(clazz).getFieldCount();
+        long cost = MemoryCosts.read(rows, columns, false, isInputInMemory())
+                + (retained ? MemoryCosts.read(kept, columns, true, false) - MemoryCosts.JOB_OVERHEAD : 0);
+        MemoryGovernor.Permit permit = acquire(cost, Operation.READ, clazz);
+        try {
+            return job.get();
+        } finally {
+            permit.close();
+        }
+    }
+
+    /**
+     * 向 governor 申请内存；被拒绝时(超过整个预算或等待超时)同样回调监听器，指标中只有耗时和拒绝的原因
+     * Acquire memory from governor; a rejection (more than the whole budget, or the wait timed out) is reported to
+     * the listener as well, with only the elapsed time and the cause in the metrics
+     *
+     * @param cost      估计的字节数(estimated bytes)
+     * @param operation 读或写(read or write)
+     * @param clazz     实体类(entity class)
+     * @return 许可(permit)
+     */
+    private MemoryGovernor.Permit acquire(long cost, Operation operation, Class<?> clazz) {
+        MetricsRecorder metrics = new MetricsRecorder(listener, operation, clazz);
+        try {
+            return governor.acquire(cost);
+        } catch (RuntimeException e) {
+            metrics.error(e);
+            metrics.complete();
+            throw e;
+        }
+    }
+
+    /**
+     * 读取xlsx时输入是否整个留在内存中；本地文件直接打开，不在内存中
+     * Whether the whole input stays in memory when reading xlsx; local files are opened directly and do not
+     */
+    protected boolean isInputInMemory() {
+        return false;
+    }
+
+    /**
+     * 从sheet的维度信息估计数据行数(不含表头)，只解析到维度信息为止
+     * Estimate the number of data rows (header excluded) from the dimension of the sheet, parsing stops right after it
+     *
+     * @return 估计的行数，没有维度信息(如CSV)时为-1(estimated rows, -1 without a dimension such as CSV)
+     */
+    protected int estimateRows() {
+        RowCountEstimator estimator = new RowCountEstimator();
+        readRows(estimator, new MetricsRecorder(ExcelListener.NOOP, Operation.READ, dataClass));
+        return estimator.getEstimate();
+    }
+
+    private void readWithMetrics(Class<?> clazz, RowVisitor visitor, IntSupplier rowCount) {
+        MetricsRecorder metrics = new MetricsRecorder(listener, Operation.READ, clazz);
+        try {
+            readRows(TimedRowVisitor.wrap(visitor, metrics), metrics);
+        } catch (RuntimeException | Error e) {
+            metrics.error(e);
+            throw e;
+        } finally {
+            metrics.addRows(rowCount.getAsInt());
+            metrics.phase(Phase.CLOSE);
+            metrics.complete();
+        }
+    }
+
+    private void readRows(RowVisitor visitor, MetricsRecorder metrics) {
+        if (isCsv()) {
+            try (InputStream inputStream = metrics.count(getInputStream(fileName))) {
+                new CsvReader(visitor).read(inputStream, charset);
+                metrics.phase(Phase.ROWS);
+            } catch (ExcelException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new ExcelException(e);
             }
-            int physicalNumberOfCells = header.getPhysicalNumberOfCells();
-            Map<String, Integer> map = new HashMap<>();
-            for (int i = 0; i < physicalNumberOfCells; i++) {
-                Cell cell = header.getCell(i);
-                if (cell == null) {
-                    continue;
+            return;
+        }
+        File file = getInputFile(fileName);
+        if (file != null) {
+            try {
+                metrics.addBytes(file.length());
+                if (FileMagic.valueOf(file) != FileMagic.OOXML) {
+                    try (Workbook workbook = WorkbookFactory.create(file, null, true)) {
+                        WorkbookReader.read(workbook, this.sheet, visitor);
+                        metrics.phase(Phase.ROWS);
+                    }
+                    return;
                 }
-                map.put(cell.toString(), i);
+                readPackage(OPCPackage.open(file, PackageAccess.READ), visitor, metrics);
+            } catch (ExcelException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new ExcelException(e);
+            } finally {
+                releaseInputFile(file);
             }
-            int physicalNumberOfRows = sheet.getPhysicalNumberOfRows();
-            Field[] declaredFields = clazz.getDeclaredFields();
-            for (int i = 1; i < physicalNumberOfRows; i++) {
-                Row row = sheet.getRow(i);
-                R object = clazz.newInstance();
-                for (Field declaredField : declaredFields) {
-                    declaredField.setAccessible(true);
-                    Class<?> type = declaredField.getType();
-                    Type contentType = Type.getType(type);
-                    Object value = null;
-                    ExcelAnno annotation = declaredField.getAnnotation(ExcelAnno.class);
-                    if (annotation == null) {
-                        continue;
-                    }
-                    int column = annotation.column();
-                    if (column >= 0) {
-                        Cell cell = row.getCell(column);
-                        value = contentType.parse(cell.toString(), annotation.format());
-                    } else {
-                        Integer index = map.get(annotation.value());
-                        if (index != null) {
-                            Cell cell = row.getCell(index);
-                            value = contentType.parse(cell.toString(), annotation.format());
-                        }
-                    }
-                    declaredField.set(object, value);
+            return;
+        }
+        try (InputStream inputStream = FileMagic.prepareToCheckMagic(metrics.count(getInputStream(fileName)))) {
+            if (FileMagic.valueOf(inputStream) != FileMagic.OOXML) {
+                try (Workbook workbook = WorkbookFactory.create(inputStream)) {
+                    WorkbookReader.read(workbook, this.sheet, visitor);
+                    metrics.phase(Phase.ROWS);
                 }
-                list.add(object);
+                return;
             }
+            readPackage(OPCPackage.open(inputStream), visitor, metrics);
+        } catch (ExcelException e) {
+            throw e;
         } catch (Exception e) {
             throw new ExcelException(e);
         }
-        return list;
     }
 
+    private void readPackage(OPCPackage pkg, RowVisitor visitor, MetricsRecorder metrics) throws Exception {
+        try {
+            SheetReader.read(pkg, this.sheet, visitor);
+            metrics.phase(Phase.ROWS);
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    private <R> BeanRowVisitor<R> createRowVisitor(Class<R> clazz, Consumer<R> consumer, boolean keepOrder) {
+        BeanRowVisitor<R> visitor = executor != null
+                ? new ParallelRowVisitor<>(clazz, consumer, executor, keepOrder)
+                : new BeanRowVisitor<>(clazz, consumer);
+        return visitor.project(readColumns).filter(rowFilter).range(offset, limit).rowEstimate(rowEstimate);
+    }
+
+    /**
+     * 是否以CSV格式读写
+     * Whether to read and write CSV
+     */
+    protected boolean isCsv() {
+        return csvFormat || fileName != null && fileName.endsWith(csv);
+    }
 
     protected File checkFileNameAndCreateFile(String fileName) {
-        if (fileName.endsWith(xls) || fileName.endsWith(xlsx)) {
+        if (fileName.endsWith(xls) || fileName.endsWith(xlsx) || fileName.endsWith(csv)) {
             return new File(fileName);
         }
         throw new FileNotFindException("file path exception");
@@ -1,11 +1,29 @@
 package com.excel;
 
+import com.excel.columnar.ColumnBatch;
+import com.excel.columnar.ColumnData;
+import com.excel.enums.StringStrategy;
+import com.excel.enums.WriteProfile;
 import com.excel.exception.FileNotFindException;
+import com.excel.memory.MemoryGovernor;
+import com.excel.metrics.ExcelListener;
 import com.excel.exception.StreamCreateException;
+import com.excel.sax.RawRow;
+import com.excel.utils.AssertUtils;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 
 /**
@@ -34,6 +52,53 @@ public final class Excel<D> extends AbstractExcel {
         write(dataList);
     }
 
+    /**
+     * 边迭代边往excel中写数据
+     * Write data to Excel while iterating
+     *
+     * @param data 数据(data)
+     * @param <T>  object type
+     */
+    @Override
+    public <T> void doWrite(Iterator<T> data) {
+        write(data);
+    }
+
+    /**
+     * 边消费边往excel中写数据，写完后关闭 stream
+     * Write data to Excel while consuming the stream, the stream is closed afterwards
+     *
+     * @param data 数据(data)
+     * @param <T>  object type
+     */
+    @Override
+    public <T> void doWrite(Stream<T> data) {
+        write(data);
+    }
+
+    /**
+     * 按页拉取数据写入excel，pages 返回null或空页时结束
+     * Pull pages of data and write them to Excel until pages returns null or an empty page
+     *
+     * @param pages 分页数据(pages of data)
+     * @param <T>   object type
+     */
+    @Override
+    public <T> void doWrite(Supplier<? extends List<T>> pages) {
+        write(pages);
+    }
+
+    /**
+     * 列式写入，直接从每列的数组取值，不需要实体类
+     * Columnar write, values are taken straight from the array of each column, no entity class is needed
+     *
+     * @param data 列式数据(columnar data)
+     */
+    @Override
+    public void doWriteColumns(ColumnData data) {
+        writeColumns(data);
+    }
+
 
     /**
      * 从excel中读取数据
@@ -48,6 +113,81 @@ public final class Excel<D> extends AbstractExcel {
         return read(clazz);
     }
 
+    /**
+     * 从excel中逐行读取数据
+     * Read data from Excel row by row
+     *
+     * @param clazz    数据对应的实体类(The entity class that the data corresponds to)
+     * @param consumer 每一行的回调(callback of each row)
+     * @param <R>      object type
+     */
+    @Override
+    public <R> void doRead(Class<R> clazz, Consumer<R> consumer) {
+        read(clazz, consumer);
+    }
+
+    /**
+     * 列式读取，每批回调一次 consumer，不创建实体类
+     * Columnar read, the consumer is called once per batch, no entity is created
+     *
+     * @param clazz    数据对应的实体类(The entity class that the data corresponds to)
+     * @param consumer 每一批的回调(callback of each batch)
+     * @param <R>      object type
+     */
+    @Override
+    public <R> void doReadBatches(Class<R> clazz, Consumer<ColumnBatch> consumer) {
+        readBatches(clazz, consumer);
+    }
+
+    /**
+     * 在 executor 上异步往excel中写数据
+     * Write data to Excel asynchronously on the executor
+     *
+     * @param data     数据(data)
+     * @param executor 线程池(executor)，null时使用默认线程池(null uses the default executor)
+     * @param <T>      object type
+     * @return CompletableFuture
+     */
+    @Override
+    public <T> CompletableFuture<Void> doWriteAsync(List<T> data, Executor executor) {
+        return async(() -> {
+            write(data);
+            return null;
+        }, executor);
+    }
+
+    /**
+     * 在 executor 上异步从excel中读取数据
+     * Read data from Excel asynchronously on the executor
+     *
+     * @param clazz    数据对应的实体类(The entity class that the data corresponds to)
+     * @param executor 线程池(executor)，null时使用默认线程池(null uses the default executor)
+     * @param <R>      object type
+     * @return CompletableFuture
+     */
+    @Override
+    public <R> CompletableFuture<List<R>> doReadAsync(Class<R> clazz, Executor executor) {
+        return async(() -> read(clazz), executor);
+    }
+
+    /**
+     * 在 executor 上异步逐行读取excel
+     * Read Excel row by row asynchronously on the executor
+     *
+     * @param clazz    数据对应的实体类(The entity class that the data corresponds to)
+     * @param consumer 每一行的回调(callback of each row)
+     * @param executor 线程池(executor)，null时使用默认线程池(null uses the default executor)
+     * @param <R>      object type
+     * @return CompletableFuture
+     */
+    @Override
+    public <R> CompletableFuture<Void> doReadAsync(Class<R> clazz, Consumer<R> consumer, Executor executor) {
+        return async(() -> {
+            read(clazz, consumer);
+            return null;
+        }, executor);
+    }
+
     /**
      * 获取文件输出流
      * Get the file output stream
@@ -59,7 +199,7 @@ public final class Excel<D> extends AbstractExcel {
     protected OutputStream getOutputStream(String fileName) {
         File file = checkFileNameAndCreateFile(fileName);
         try {
-            return new BufferedOutputStream(Files.newOutputStream(file.toPath()));
+            return new BufferedOutputStream(Files.newOutputStream(file.toPath()), writeProfile.getBufferSize());
         } catch (Exception e) {
             throw new StreamCreateException("file is reading");
         }
@@ -87,6 +227,34 @@ public final class Excel<D> extends AbstractExcel {
 
     }
 
+    /**
+     * 从sheet的维度信息估计数据行数(不含表头)，只解析到维度信息为止，不读取数据行
+     * Estimate the number of data rows (header excluded) from the sheet dimension, parsing stops right after it and
+     * no data row is read
+     *
+     * @return 估计的行数，没有维度信息(如CSV)时为-1(estimated rows, -1 without a dimension such as CSV)
+     */
+    @Override
+    public int estimateRows() {
+        return super.estimateRows();
+    }
+
+    /**
+     * 本地文件直接以只读方式打开
+     * Local files are opened read-only directly
+     *
+     * @param fileName 文件路径(File path)
+     * @return File
+     */
+    @Override
+    protected File getInputFile(String fileName) {
+        File file = checkFileNameAndCreateFile(fileName);
+        if (!file.exists()) {
+            throw new FileNotFindException("file not found");
+        }
+        return file;
+    }
+
     /**
      * 指定数据类型
      *
@@ -99,15 +267,15 @@ public final class Excel<D> extends AbstractExcel {
     }
 
     /**
-     * 文件全路径
-     * File full path
+     * 文件全路径，支持 .xls、.xlsx 和 .csv
+     * File full path, .xls, .xlsx and .csv are supported
      *
      * @param fileName 文件全路径(File full path)
      * @return Excel
      */
     public Excel<D> fileName(String fileName) {
         if (fileName != null && !fileName.isEmpty()) {
-            if (fileName.endsWith(".xls") || fileName.endsWith(".xlsx")) {
+            if (fileName.endsWith(xls) || fileName.endsWith(xlsx) || fileName.endsWith(csv)) {
                 this.fileName = fileName;
                 return this;
             }
@@ -125,4 +293,273 @@ public final class Excel<D> extends AbstractExcel {
         super.sheet = sheet;
         return this;
     }
+
+    /**
+     * 开启流式写入，使用默认的行窗口
+     * Enable streaming write with the default row window
+     *
+     * @return Excel
+     */
+    public Excel<D> streaming() {
+        return streaming(SXSSFWorkbook.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * 开启流式写入，内存中最多保留 rowAccessWindowSize 行，其余行写入临时文件
+     * Enable streaming write, at most rowAccessWindowSize rows are kept in memory and the rest are flushed to temp files
+     *
+     * @param rowAccessWindowSize 行窗口大小(row window size)
+     * @return Excel
+     */
+    public Excel<D> streaming(int rowAccessWindowSize) {
+        AssertUtils.isTrue(rowAccessWindowSize > 0, "rowAccessWindowSize must be greater than 0");
+        super.streaming = true;
+        super.rowAccessWindowSize = rowAccessWindowSize;
+        return this;
+    }
+
+    /**
+     * 追加写入：数据行追加到已有xlsx文件中 sheet 的末尾，只流式改写这一个sheet，其余zip条目原样复制，
+     * 堆内存占用与文件大小无关；文件不存在时照常创建
+     * Append write: data rows are appended to the end of sheet in the existing xlsx file, only that sheet is
+     * rewritten as a stream and the other zip entries are copied as is, so the heap usage does not depend on the file
+     * size; a missing file is created as usual
+     * <p>
+     * 文件已滚动到多个sheet(见 maxRowsPerSheet)时追加到最后一个编号sheet；该sheet写满时抛出异常，追加不会新建sheet
+     * When the file already rolled over to several sheets (see maxRowsPerSheet) the rows go to the last numbered sheet;
+     * once that sheet is full an exception is thrown, appending never creates a new sheet
+     *
+     * @return Excel
+     */
+    public Excel<D> append() {
+        super.append = true;
+        return this;
+    }
+
+    /**
+     * 流式写入时是否压缩临时文件，覆盖 writeProfile 的设置
+     * Whether to compress the temp files when streaming, overrides the setting of writeProfile
+     *
+     * @param compressTempFiles 是否压缩(compress or not)
+     * @return Excel
+     */
+    public Excel<D> compressTempFiles(boolean compressTempFiles) {
+        super.compressTempFiles = compressTempFiles;
+        return this;
+    }
+
+    /**
+     * 写入配置：在写入速度和输出大小之间取舍，决定输出的压缩级别、临时文件是否压缩和输出缓冲区大小；默认 BALANCED
+     * Write profile: trades write speed against output size, it decides the output deflate level, whether the temp
+     * files are compressed and the output buffer size; BALANCED by default
+     *
+     * @param writeProfile 写入配置(write profile)
+     * @return Excel
+     */
+    public Excel<D> writeProfile(WriteProfile writeProfile) {
+        AssertUtils.isTrue(writeProfile != null, "writeProfile must not be null");
+        super.writeProfile = writeProfile;
+        return this;
+    }
+
+    /**
+     * 共享的内存预算：任务开始前按估计的内存申请，预算不足时排队或被拒绝，内存中写入估计过大时自动改为流式；
+     * 多个并发任务应使用同一个 MemoryGovernor。null表示不受限制(默认)
+     * Shared memory budget: a job acquires its estimated memory before it starts, queueing or being rejected while
+     * the budget is exhausted, and in-memory writes estimated too large are switched to streaming; concurrent jobs
+     * should share one MemoryGovernor. null means unlimited (default)
+     *
+     * @param governor 内存预算(memory budget)
+     * @return Excel
+     */
+    public Excel<D> governor(MemoryGovernor governor) {
+        super.governor = governor;
+        return this;
+    }
+
+    /**
+     * 预计的数据行数，用于估计内存；写入List时取List的大小，不需要指定
+     * Expected number of data rows, used to estimate the memory; writing a List uses its size and needs no hint
+     *
+     * @param expectedRows 行数(rows)
+     * @return Excel
+     */
+    public Excel<D> expectedRows(long expectedRows) {
+        AssertUtils.isTrue(expectedRows >= 0, "expectedRows must not be negative");
+        super.expectedRows = expectedRows;
+        return this;
+    }
+
+    /**
+     * workbook级别的字符串存储方式，列上可以通过 ExcelAnno.stringStrategy 覆盖
+     * Workbook level storage of strings, can be overridden per column through ExcelAnno.stringStrategy
+     *
+     * @param stringStrategy 字符串存储方式(string strategy)
+     * @return Excel
+     */
+    public Excel<D> stringStrategy(StringStrategy stringStrategy) {
+        AssertUtils.isTrue(stringStrategy != null, "stringStrategy must not be null");
+        super.stringStrategy = stringStrategy;
+        return this;
+    }
+
+    /**
+     * 共享字符串表的不同字符串上限，超过后新的字符串以内联写入
+     * Upper bound of distinct strings in the shared strings table, new strings beyond it are written inline
+     *
+     * @param sharedStringsLimit 上限(upper bound)
+     * @return Excel
+     */
+    public Excel<D> sharedStringsLimit(int sharedStringsLimit) {
+        AssertUtils.isTrue(sharedStringsLimit >= 0, "sharedStringsLimit must not be negative");
+        super.sharedStringsLimit = sharedStringsLimit;
+        return this;
+    }
+
+    /**
+     * 每个sheet最多的数据行数(不含表头)，超过后依次写到 sheet_2、sheet_3...
+     * Maximum number of data rows per sheet (header excluded), the rest rolls over to sheet_2, sheet_3...
+     *
+     * @param maxRowsPerSheet 每个sheet的行数上限(row cap per sheet)
+     * @return Excel
+     */
+    public Excel<D> maxRowsPerSheet(int maxRowsPerSheet) {
+        AssertUtils.isTrue(maxRowsPerSheet > 0 && maxRowsPerSheet <= MAX_ROWS_PER_SHEET,
+                "maxRowsPerSheet must be between 1 and " + MAX_ROWS_PER_SHEET);
+        super.maxRowsPerSheet = maxRowsPerSheet;
+        return this;
+    }
+
+    /**
+     * 流式写入多个sheet时，在 executor 上并发写入每个sheet；按页写入时在 executor 上预取下一页；
+     * 逐行读取xlsx时，在 executor 上并发把行转换成实体类
+     * When streaming several sheets, each sheet is written concurrently on the executor; when writing pages, the next
+     * page is prefetched on the executor; when reading xlsx row by row, rows are converted into entities concurrently
+     * on the executor
+     *
+     * @param executor 线程池(executor)，null表示在当前线程写入(null writes on the current thread)
+     * @return Excel
+     */
+    public Excel<D> executor(Executor executor) {
+        super.executor = executor;
+        return this;
+    }
+
+    /**
+     * 并发读取时是否保持行顺序，保持时 consumer 按行顺序在调用线程中回调，否则在工作线程中回调且必须是线程安全的
+     * Whether to keep the row order when reading concurrently, if kept the consumer is called in row order on the
+     * calling thread, otherwise it is called on the worker threads and must be thread-safe
+     *
+     * @param keepOrder 是否保持行顺序(keep the row order or not)
+     * @return Excel
+     */
+    public Excel<D> keepOrder(boolean keepOrder) {
+        super.keepOrder = keepOrder;
+        return this;
+    }
+
+    /**
+     * CSV的字符集，默认UTF-8
+     * Charset of CSV, UTF-8 by default
+     *
+     * @param charset 字符集(charset)
+     * @return Excel
+     */
+    public Excel<D> charset(Charset charset) {
+        AssertUtils.isTrue(charset != null, "charset must not be null");
+        super.charset = charset;
+        return this;
+    }
+
+    /**
+     * 读取时只填充这些表头名称对应的字段，解析器跳过其余列的单元格
+     * Only fill the fields of these header names when reading, the parser skips the cells of the other columns
+     *
+     * @param names ExcelAnno.value 中的表头名称(header names of ExcelAnno.value)
+     * @return Excel
+     */
+    public Excel<D> columns(String... names) {
+        super.readColumns = names;
+        return this;
+    }
+
+    /**
+     * 读取时在创建实体类之前按原始值过滤行，返回false的行被跳过
+     * Filter rows by their raw values before the entity is created when reading, rows it returns false for are
+     * skipped
+     *
+     * @param filter 行过滤(row filter)
+     * @return Excel
+     */
+    public Excel<D> filter(Predicate<RawRow> filter) {
+        super.rowFilter = filter;
+        return this;
+    }
+
+    /**
+     * 读取时跳过的数据行数，在行过滤之后计数
+     * Number of data rows skipped when reading, counted after the row filter
+     *
+     * @param offset 跳过的行数(rows to skip)
+     * @return Excel
+     */
+    public Excel<D> offset(int offset) {
+        AssertUtils.isTrue(offset >= 0, "offset must not be negative");
+        super.offset = offset;
+        return this;
+    }
+
+    /**
+     * 读取的最大数据行数，读够后立即停止解析，读取时间不再取决于文件大小
+     * Maximum number of data rows read, parsing stops as soon as they are read so the read time no longer depends on
+     * the file size
+     *
+     * @param limit 最大行数(maximum rows)
+     * @return Excel
+     */
+    public Excel<D> limit(int limit) {
+        AssertUtils.isTrue(limit >= 0, "limit must not be negative");
+        super.limit = limit;
+        return this;
+    }
+
+    /**
+     * 读取时解析出sheet维度信息后，回调数据行数(不含表头)的估计值
+     * When reading, called back with the estimated number of data rows (header excluded) once the sheet dimension is
+     * parsed
+     *
+     * @param rowEstimate 回调(callback)
+     * @return Excel
+     */
+    public Excel<D> rowEstimate(IntConsumer rowEstimate) {
+        super.rowEstimate = rowEstimate;
+        return this;
+    }
+
+    /**
+     * 读写过程的监听器，回调各阶段耗时、行数和字节数；默认什么都不做
+     * Listener of reads and writes, called back with the phase durations, rows and bytes; does nothing by default
+     *
+     * @param listener 监听器(listener)
+     * @return Excel
+     */
+    public Excel<D> listener(ExcelListener listener) {
+        AssertUtils.isTrue(listener != null, "listener must not be null");
+        super.listener = listener;
+        return this;
+    }
+
+    /**
+     * 列式读取时每批的行数，默认4096
+     * Number of rows per batch of a columnar read, 4096 by default
+     *
+     * @param batchSize 每批的行数(rows per batch)
+     * @return Excel
+     */
+    public Excel<D> batchSize(int batchSize) {
+        AssertUtils.isTrue(batchSize > 0, "batchSize must be greater than 0");
+        super.batchSize = batchSize;
+        return this;
+    }
+
 }
@@ -1,6 +1,15 @@
 package com.excel;
 
+import com.excel.columnar.ColumnBatch;
+import com.excel.columnar.ColumnData;
+
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * excel interface
@@ -18,6 +27,42 @@ public interface ExcelInterface {
      */
     <T> void doWrite(List<T> data);
 
+    /**
+     * 边迭代边往excel中写数据，内存中不需要保存全部数据
+     * Write data to Excel while iterating, the whole data set never needs to be in memory
+     *
+     * @param data 数据(data)
+     * @param <T>  object type
+     */
+    <T> void doWrite(Iterator<T> data);
+
+    /**
+     * 边消费边往excel中写数据，写完后关闭 stream
+     * Write data to Excel while consuming the stream, the stream is closed afterwards
+     *
+     * @param data 数据(data)
+     * @param <T>  object type
+     */
+    <T> void doWrite(Stream<T> data);
+
+    /**
+     * 按页拉取数据写入excel，pages 返回null或空页时结束，内存中只保留一页
+     * Pull pages of data and write them to Excel until pages returns null or an empty page, only one page is kept in
+     * memory
+     *
+     * @param pages 分页数据(pages of data)
+     * @param <T>   object type
+     */
+    <T> void doWrite(Supplier<? extends List<T>> pages);
+
+    /**
+     * 列式写入，直接从每列的数组取值，不需要实体类
+     * Columnar write, values are taken straight from the array of each column, no entity class is needed
+     *
+     * @param data 列式数据(columnar data)
+     */
+    void doWriteColumns(ColumnData data);
+
     /**
      * 从excel中读取数据
      * Read data from Excel
@@ -28,5 +73,58 @@ public interface ExcelInterface {
      */
     <R> List<R> doRead(Class<R> clazz);
 
+    /**
+     * 从excel中逐行读取数据，每一行转换成实体类后回调 consumer，不会一次性加载整个sheet
+     * Read data from Excel row by row, each row is passed to the consumer, the whole sheet is never loaded at once
+     *
+     * @param clazz    数据对应的实体类(The entity class that the data corresponds to)
+     * @param consumer 每一行的回调(callback of each row)
+     * @param <R>      object type
+     */
+    <R> void doRead(Class<R> clazz, Consumer<R> consumer);
+
+    /**
+     * 列式读取，行直接解析进可复用的基本类型数组批次，每批回调一次 consumer，不创建实体类
+     * Columnar read, rows are parsed straight into reusable batches of primitive arrays and the consumer is called once
+     * per batch, no entity is created
+     *
+     * @param clazz    数据对应的实体类，只用来确定列和类型(The entity class, only used for the columns and their types)
+     * @param consumer 每一批的回调，不能保存批次(callback of each batch, must not keep the batch)
+     * @param <R>      object type
+     */
+    <R> void doReadBatches(Class<R> clazz, Consumer<ColumnBatch> consumer);
 
+    /**
+     * 在 executor 上异步往excel中写数据
+     * Write data to Excel asynchronously on the executor
+     *
+     * @param data     数据(data)
+     * @param executor 线程池(executor)，null时使用默认线程池(null uses the default executor)
+     * @param <T>      object type
+     * @return 写入完成时完成的future(future completed when the write is done)
+     */
+    <T> CompletableFuture<Void> doWriteAsync(List<T> data, Executor executor);
+
+    /**
+     * 在 executor 上异步从excel中读取数据
+     * Read data from Excel asynchronously on the executor
+     *
+     * @param clazz    数据对应的实体类(The entity class that the data corresponds to)
+     * @param executor 线程池(executor)，null时使用默认线程池(null uses the default executor)
+     * @param <R>      object type
+     * @return 读取到的数据(the data read)
+     */
+    <R> CompletableFuture<List<R>> doReadAsync(Class<R> clazz, Executor executor);
+
+    /**
+     * 在 executor 上异步逐行读取excel，consumer 在该线程中回调
+     * Read Excel row by row asynchronously on the executor, the consumer is called back on that thread
+     *
+     * @param clazz    数据对应的实体类(The entity class that the data corresponds to)
+     * @param consumer 每一行的回调(callback of each row)
+     * @param executor 线程池(executor)，null时使用默认线程池(null uses the default executor)
+     * @param <R>      object type
+     * @return 读取完成时完成的future(future completed when the read is done)
+     */
+    <R> CompletableFuture<Void> doReadAsync(Class<R> clazz, Consumer<R> consumer, Executor executor);
 }
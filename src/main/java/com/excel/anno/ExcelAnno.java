@@ -1,5 +1,6 @@
 package com.excel.anno;
 
+import com.excel.enums.StringStrategy;
 import org.apache.poi.ss.usermodel.FillPatternType;
 import org.apache.poi.ss.usermodel.IndexedColors;
 
@@ -69,5 +70,24 @@ public @interface ExcelAnno {
      */
     boolean isVerticalAlignment() default false;
 
+    /**
+     * 表头是否加粗
+     * Whether the header is bold
+     */
+    boolean isBold() default false;
+
+    /**
+     * 字符串的存储方式，默认跟随workbook
+     * How strings are stored, follows the workbook by default
+     */
+    StringStrategy stringStrategy() default StringStrategy.DEFAULT;
+
+    /**
+     * 是否通过public的getter/setter读写字段，getter/setter中的逻辑会在每次读写时执行；默认直接读写字段
+     * Whether the field is read and written through its public getter/setter, any logic in them runs on every read
+     * and write; the field is accessed directly by default
+     */
+    boolean useGetterSetter() default false;
+
 
 }
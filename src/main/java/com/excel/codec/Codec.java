@@ -0,0 +1,170 @@
+package com.excel.codec;
+
+import com.excel.meta.FieldAccessor;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.util.NumberToTextConverter;
+
+/**
+ * 字段值与excel内容之间的转换器
+ * Converter between field values and Excel content
+ *
+ * @author heng.lei
+ */
+public interface Codec {
+
+    /**
+     * 字段值转成文本
+     * Convert a field value to text
+     *
+     * @param value  字段值，不为null(field value, never null)
+     * @param format ExcelAnno.format
+     * @return text
+     */
+    String format(Object value, String format);
+
+    /**
+     * 文本转成字段值
+     * Convert text to a field value
+     *
+     * @param value  文本，可能为null(text, may be null)
+     * @param format ExcelAnno.format
+     * @return field value
+     */
+    Object parse(String value, String format);
+
+    /**
+     * 读取实体类字段并转成文本，基本类型的实现可以覆盖该方法避免装箱
+     * Read the field of an entity and convert it to text, primitive codecs may override this to avoid boxing
+     *
+     * @param bean     实体类(object)
+     * @param accessor 字段读写器(field accessor)
+     * @param format   ExcelAnno.format
+     * @return text
+     */
+    default String write(Object bean, FieldAccessor accessor, String format) {
+        Object value = accessor.get(bean);
+        return value == null ? "" : format(value, format);
+    }
+
+    /**
+     * 文本转换后写入实体类字段，基本类型的实现可以覆盖该方法避免装箱
+     * Convert text and set it on the field of an entity, primitive codecs may override this to avoid boxing
+     *
+     * @param bean     实体类(object)
+     * @param accessor 字段读写器(field accessor)
+     * @param value    文本，可能为null(text, may be null)
+     * @param format   ExcelAnno.format
+     */
+    default void read(Object bean, FieldAccessor accessor, String value, String format) {
+        accessor.set(bean, parse(value, format));
+    }
+
+    /**
+     * ExcelAnno.format 为空时使用的格式
+     * Format used when ExcelAnno.format is empty
+     *
+     * @return format
+     */
+    default String defaultFormat() {
+        return "";
+    }
+
+    /**
+     * 写入excel时使用的单元格类型
+     * Cell type used when writing to Excel
+     *
+     * @return STRING, NUMERIC or BOOLEAN
+     */
+    default CellType cellType() {
+        return CellType.STRING;
+    }
+
+    /**
+     * 是否为日期，日期以数字单元格加日期格式写入
+     * Whether the value is a date, dates are written as numeric cells with a date format
+     *
+     * @return boolean
+     */
+    default boolean isDate() {
+        return false;
+    }
+
+    /**
+     * 把字段值写入单元格
+     * Write a field value into a cell
+     *
+     * @param cell   单元格(cell)
+     * @param value  字段值，不为null(field value, never null)
+     * @param format ExcelAnno.format
+     */
+    default void writeValue(Cell cell, Object value, String format) {
+        cell.setCellValue(format(value, format));
+    }
+
+    /**
+     * 数字单元格转成字段值
+     * Convert a numeric cell to a field value
+     *
+     * @param value  单元格数值(cell value)
+     * @param format ExcelAnno.format
+     * @return field value
+     */
+    default Object fromNumeric(double value, String format) {
+        return parse(NumberToTextConverter.toText(value), format);
+    }
+
+    /**
+     * 布尔单元格转成字段值
+     * Convert a boolean cell to a field value
+     *
+     * @param value  单元格值(cell value)
+     * @param format ExcelAnno.format
+     * @return field value
+     */
+    default Object fromBoolean(boolean value, String format) {
+        return parse(Boolean.toString(value), format);
+    }
+
+    /**
+     * 读取实体类字段并写入单元格，字段为null时保持空单元格
+     * Read the field of an entity and write it into a cell, a null field leaves the cell blank
+     *
+     * @param cell     单元格(cell)
+     * @param bean     实体类(object)
+     * @param accessor 字段读写器(field accessor)
+     * @param format   ExcelAnno.format
+     */
+    default void writeCell(Cell cell, Object bean, FieldAccessor accessor, String format) {
+        Object value = accessor.get(bean);
+        if (value != null) {
+            writeValue(cell, value, format);
+        }
+    }
+
+    /**
+     * 数字单元格写入实体类字段
+     * Set a numeric cell on the field of an entity
+     *
+     * @param bean     实体类(object)
+     * @param accessor 字段读写器(field accessor)
+     * @param value    单元格数值(cell value)
+     * @param format   ExcelAnno.format
+     */
+    default void readNumeric(Object bean, FieldAccessor accessor, double value, String format) {
+        accessor.set(bean, fromNumeric(value, format));
+    }
+
+    /**
+     * 布尔单元格写入实体类字段
+     * Set a boolean cell on the field of an entity
+     *
+     * @param bean     实体类(object)
+     * @param accessor 字段读写器(field accessor)
+     * @param value    单元格值(cell value)
+     * @param format   ExcelAnno.format
+     */
+    default void readBoolean(Object bean, FieldAccessor accessor, boolean value, String format) {
+        accessor.set(bean, fromBoolean(value, format));
+    }
+}
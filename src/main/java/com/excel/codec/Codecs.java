@@ -0,0 +1,69 @@
+package com.excel.codec;
+
+import com.excel.enums.PrimitiveType;
+import com.excel.enums.Type;
+import com.excel.exception.ExcelException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 转换器注册表，按字段类型常数时间查找
+ * Codec registry, looked up by field type in constant time
+ * <p>
+ * 自定义转换器优先于内置转换器，需在实体类第一次读写之前注册
+ * Custom codecs take precedence over the built-in ones and must be registered before the entity class is first used
+ *
+ * @author heng.lei
+ */
+public final class Codecs {
+
+    private static final Map<Class<?>, Codec> BUILT_IN = new HashMap<>();
+
+    private static final Map<Class<?>, Codec> CUSTOM = new ConcurrentHashMap<>();
+
+    static {
+        for (Type type : Type.values()) {
+            BUILT_IN.put(type.getFileType(), type);
+        }
+        for (PrimitiveType type : PrimitiveType.values()) {
+            BUILT_IN.put(type.getFileType(), type);
+        }
+    }
+
+    private Codecs() {
+    }
+
+    /**
+     * 注册自定义转换器
+     * Register a custom codec
+     *
+     * @param type  字段类型(field type)
+     * @param codec 转换器(codec)
+     */
+    public static void register(Class<?> type, Codec codec) {
+        if (type == null || codec == null) {
+            throw new ExcelException("type and codec must not be null");
+        }
+        CUSTOM.put(type, codec);
+    }
+
+    /**
+     * 获取字段类型对应的转换器
+     * Get the codec of a field type
+     *
+     * @param type 字段类型(field type)
+     * @return Codec
+     */
+    public static Codec get(Class<?> type) {
+        Codec codec = CUSTOM.get(type);
+        if (codec == null) {
+            codec = BUILT_IN.get(type);
+        }
+        if (codec == null) {
+            throw new ExcelException("class type not find");
+        }
+        return codec;
+    }
+}
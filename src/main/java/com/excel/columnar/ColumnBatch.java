@@ -0,0 +1,285 @@
+package com.excel.columnar;
+
+import com.excel.exception.ExcelException;
+
+/**
+ * 列式读取的一批行，每列一个基本类型数组，字符串按字典编码；批次对象和其中的数组在批次之间复用，回调结束后不能再使用
+ * A batch of rows of a columnar read, one primitive array per column and dictionary-encoded strings; the batch and
+ * its arrays are reused between batches and must not be used after the callback returns
+ * <p>
+ * 列按实体类字段的声明顺序排列，用 indexOf 按表头名称(ExcelAnno的value)查找；数组长度为 capacity，只有前 size 行有效
+ * Columns follow the declaration order of the entity fields and are looked up by header name (the value of ExcelAnno)
+ * with indexOf; the arrays are capacity long, only the first size rows are valid
+ *
+ * @author heng.lei
+ */
+public final class ColumnBatch {
+
+    /**
+     * 默认每批的行数
+     * Default number of rows per batch
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final String[] names;
+
+    private final ColumnType[] types;
+
+    private final long[][] longs;
+
+    private final double[][] doubles;
+
+    private final boolean[][] booleans;
+
+    private final int[][] codes;
+
+    private final StringDictionary[] dictionaries;
+
+    private final boolean[][] nulls;
+
+    private final int capacity;
+
+    private int size;
+
+    private long firstRow;
+
+    ColumnBatch(String[] names, ColumnType[] types, int capacity) {
+        this.names = names;
+        this.types = types;
+        this.capacity = capacity;
+        int count = names.length;
+        this.longs = new long[count][];
+        this.doubles = new double[count][];
+        this.booleans = new boolean[count][];
+        this.codes = new int[count][];
+        this.dictionaries = new StringDictionary[count];
+        this.nulls = new boolean[count][capacity];
+        for (int i = 0; i < count; i++) {
+            switch (types[i]) {
+                case LONG:
+                case DATE:
+                    longs[i] = new long[capacity];
+                    break;
+                case DOUBLE:
+                    doubles[i] = new double[capacity];
+                    break;
+                case BOOLEAN:
+                    booleans[i] = new boolean[capacity];
+                    break;
+                default:
+                    codes[i] = new int[capacity];
+                    dictionaries[i] = new StringDictionary();
+                    break;
+            }
+        }
+    }
+
+    /**
+     * 本批的有效行数
+     * Number of valid rows in this batch
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 每批最多的行数，也是数组的长度
+     * Maximum number of rows per batch, also the length of the arrays
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 本批第一行在本次读取的数据行中的序号，从0开始
+     * Index of the first row of this batch among the data rows of the read, starts from 0
+     */
+    public long getFirstRow() {
+        return firstRow;
+    }
+
+    /**
+     * 列数
+     * Number of columns
+     */
+    public int getColumnCount() {
+        return names.length;
+    }
+
+    /**
+     * 按表头名称查找列
+     * Find a column by header name
+     *
+     * @param name 表头名称(header name)
+     * @return 列下标，不存在时为-1(column index, -1 when missing)
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 列的表头名称
+     * Header name of a column
+     */
+    public String getName(int column) {
+        return names[column];
+    }
+
+    /**
+     * 列的存储类型
+     * Storage type of a column
+     */
+    public ColumnType getType(int column) {
+        return types[column];
+    }
+
+    /**
+     * LONG 列的值，DATE 列的毫秒时间戳
+     * Values of a LONG column, epoch milliseconds of a DATE column
+     */
+    public long[] getLongs(int column) {
+        if (types[column] != ColumnType.LONG && types[column] != ColumnType.DATE) {
+            throw typeMismatch(column, "LONG or DATE");
+        }
+        return longs[column];
+    }
+
+    /**
+     * DOUBLE 列的值
+     * Values of a DOUBLE column
+     */
+    public double[] getDoubles(int column) {
+        if (types[column] != ColumnType.DOUBLE) {
+            throw typeMismatch(column, "DOUBLE");
+        }
+        return doubles[column];
+    }
+
+    /**
+     * BOOLEAN 列的值
+     * Values of a BOOLEAN column
+     */
+    public boolean[] getBooleans(int column) {
+        if (types[column] != ColumnType.BOOLEAN) {
+            throw typeMismatch(column, "BOOLEAN");
+        }
+        return booleans[column];
+    }
+
+    /**
+     * STRING 列的字典编码
+     * Dictionary codes of a STRING column
+     */
+    public int[] getCodes(int column) {
+        return dictionary(column) == null ? null : codes[column];
+    }
+
+    /**
+     * STRING 列在本批中的字典，下一批开始时清空，编码只在本批内有效；需要跨批保留的字符串应在回调中取出
+     * Dictionary of a STRING column for this batch, cleared when the next batch starts so codes are only valid within
+     * the batch; strings needed across batches must be taken out in the callback
+     */
+    public StringDictionary getDictionary(int column) {
+        return dictionary(column);
+    }
+
+    /**
+     * STRING 列某一行的字符串，空单元格为null
+     * String of a row of a STRING column, null for empty cells
+     */
+    public String getString(int column, int row) {
+        StringDictionary dictionary = dictionary(column);
+        return nulls[column][row] ? null : dictionary.get(codes[column][row]);
+    }
+
+    /**
+     * 单元格是否为空，空单元格在数组中的值为0/false
+     * Whether a cell is empty, empty cells are 0/false in the arrays
+     */
+    public boolean isNull(int column, int row) {
+        return nulls[column][row];
+    }
+
+    private StringDictionary dictionary(int column) {
+        if (types[column] != ColumnType.STRING) {
+            throw typeMismatch(column, "STRING");
+        }
+        return dictionaries[column];
+    }
+
+    private ExcelException typeMismatch(int column, String expected) {
+        return new ExcelException("column " + names[column] + " is " + types[column] + ", not " + expected);
+    }
+
+    /**
+     * 开始新的一行，所有列先置为空
+     * Start a new row, every column is empty first
+     */
+    void clearRow() {
+        for (int i = 0; i < names.length; i++) {
+            nulls[i][size] = true;
+            switch (types[i]) {
+                case LONG:
+                case DATE:
+                    longs[i][size] = 0;
+                    break;
+                case DOUBLE:
+                    doubles[i][size] = 0;
+                    break;
+                case BOOLEAN:
+                    booleans[i][size] = false;
+                    break;
+                default:
+                    codes[i][size] = 0;
+                    break;
+            }
+        }
+    }
+
+    void setLong(int column, long value) {
+        longs[column][size] = value;
+        nulls[column][size] = false;
+    }
+
+    void setDouble(int column, double value) {
+        doubles[column][size] = value;
+        nulls[column][size] = false;
+    }
+
+    void setBoolean(int column, boolean value) {
+        booleans[column][size] = value;
+        nulls[column][size] = false;
+    }
+
+    void setString(int column, CharSequence value) {
+        codes[column][size] = dictionaries[column].encode(value);
+        nulls[column][size] = false;
+    }
+
+    /**
+     * 当前行写完，返回批次是否已满
+     * The current row is complete, returns whether the batch is full
+     */
+    boolean commitRow() {
+        return ++size == capacity;
+    }
+
+    /**
+     * 回调结束后清空批次，下一批从 firstRow + size 开始
+     * Clear the batch after the callback, the next batch starts at firstRow + size
+     */
+    void reset() {
+        firstRow += size;
+        size = 0;
+        for (StringDictionary dictionary : dictionaries) {
+            if (dictionary != null) {
+                dictionary.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,438 @@
+package com.excel.columnar;
+
+import com.excel.enums.Type;
+import com.excel.exception.ExcelException;
+import com.excel.meta.ExcelMapping;
+import com.excel.meta.FieldMapping;
+import com.excel.sax.RowVisitor;
+import com.excel.utils.DateFormat;
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * 把sheet行直接解析进可复用的列式批次，不创建实体类，也不为数字、布尔和已出现过的字符串创建对象；第一行为表头
+ * Parse sheet rows straight into a reusable columnar batch, no entity is created and no object is allocated for
+ * numbers, booleans and strings seen before; the first row is the header
+ * <p>
+ * 数字先按原始文本快速解析，无法精确快速解析的文本(以及文本形式的日期)才退回到字段的转换器
+ * Numbers are parsed from the raw text on a fast path, only text that cannot be parsed exactly that way (and dates
+ * stored as text) falls back to the codec of the field
+ *
+ * @author heng.lei
+ */
+public class ColumnBatchVisitor implements RowVisitor {
+
+    /**
+     * 可以精确表示的10的幂，尾数小于2^53时一次乘除即可得到正确舍入的结果
+     * Exactly representable powers of ten, with a mantissa below 2^53 one multiplication or division gives the
+     * correctly rounded result
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /**
+     * 1899-12-30 的 epoch day，excel日期数值从这一天开始
+     * Epoch day of 1899-12-30, Excel date numbers count from this day
+     */
+    private static final long EXCEL_EPOCH_DAY = -25569;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private final Consumer<ColumnBatch> consumer;
+
+    private final ExcelMapping mapping;
+
+    private final FieldMapping[] fields;
+
+    private final int capacity;
+
+    private final Map<String, Integer> header = new HashMap<>();
+
+    private final TimeZone zone = TimeZone.getDefault();
+
+    private Set<String> projection;
+
+    private int offset;
+
+    private int limit = -1;
+
+    private IntConsumer rowEstimate;
+
+    /**
+     * 批次中每一列对应的字段
+     * Field of each column of the batch
+     */
+    private FieldMapping[] columnFields;
+
+    /**
+     * sheet列号到批次列下标，-1表示不需要
+     * Sheet column index to batch column index, -1 when not needed
+     */
+    private int[] batchColumns;
+
+    private ColumnBatch batch;
+
+    private boolean headerRow;
+
+    private int skipped;
+
+    private int delivered;
+
+    /**
+     * @param clazz    实体类class，只用来确定列和类型(entity class, only used for the columns and their types)
+     * @param consumer 每一批的回调(callback of each batch)
+     * @param capacity 每批的行数(rows per batch)
+     */
+    public ColumnBatchVisitor(Class<?> clazz, Consumer<ColumnBatch> consumer, int capacity) {
+        this.consumer = consumer;
+        this.mapping = ExcelMapping.of(clazz);
+        this.fields = mapping.getFields();
+        this.capacity = capacity;
+    }
+
+    /**
+     * 只读取这些表头名称对应的列
+     * Only read the columns of these header names
+     *
+     * @param names 表头名称(header names)，null或空表示全部(null or empty reads all)
+     * @return this
+     */
+    public ColumnBatchVisitor project(String... names) {
+        if (names == null || names.length == 0) {
+            this.projection = null;
+            return this;
+        }
+        Set<String> declared = new HashSet<>();
+        for (FieldMapping field : fields) {
+            declared.add(field.getColumn().getValue());
+        }
+        for (String name : names) {
+            if (!declared.contains(name)) {
+                throw new ExcelException("column not found: " + name);
+            }
+        }
+        this.projection = new HashSet<>(Arrays.asList(names));
+        return this;
+    }
+
+    /**
+     * 跳过前 offset 行后最多读取 limit 行；读够后 isDone 返回true
+     * Read at most limit rows after skipping the first offset rows; isDone returns true once enough rows are read
+     *
+     * @param offset 跳过的行数(rows to skip)
+     * @param limit  最多读取的行数(maximum rows to read)，小于0表示不限制(negative means unlimited)
+     * @return this
+     */
+    public ColumnBatchVisitor range(int offset, int limit) {
+        this.offset = offset;
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * 解析出sheet维度信息时回调数据行数(不含表头)的估计值
+     * Called back with the estimated number of data rows (header excluded) once the sheet dimension is parsed
+     *
+     * @param rowEstimate 回调(callback)，可以为null(may be null)
+     * @return this
+     */
+    public ColumnBatchVisitor rowEstimate(IntConsumer rowEstimate) {
+        this.rowEstimate = rowEstimate;
+        return this;
+    }
+
+    /**
+     * 已经读取的数据行数
+     * Number of data rows read so far
+     */
+    public int getRowCount() {
+        return delivered;
+    }
+
+    @Override
+    public void dimension(int lastRow) {
+        if (rowEstimate != null) {
+            rowEstimate.accept(lastRow);
+        }
+    }
+
+    @Override
+    public boolean isDone() {
+        return limit >= 0 && delivered >= limit;
+    }
+
+    @Override
+    public void startRow(int rowNum) {
+        headerRow = rowNum == 0;
+        if (!headerRow && batch != null) {
+            batch.clearRow();
+        }
+    }
+
+    @Override
+    public boolean accepts(int column) {
+        if (headerRow) {
+            return true;
+        }
+        return batchColumns != null && column < batchColumns.length && batchColumns[column] >= 0;
+    }
+
+    @Override
+    public void cell(int column, CellType type, CharSequence value) {
+        if (headerRow) {
+            header.put(value.toString(), column);
+            return;
+        }
+        if (!accepts(column) || value.length() == 0) {
+            return;
+        }
+        int index = batchColumns[column];
+        FieldMapping field = columnFields[index];
+        switch (batch.getType(index)) {
+            case LONG:
+                batch.setLong(index, parseLong(field, type, value));
+                break;
+            case DOUBLE:
+                batch.setDouble(index, parseDouble(field, type, value));
+                break;
+            case BOOLEAN:
+                batch.setBoolean(index, parseBoolean(type, value));
+                break;
+            case DATE:
+                batch.setLong(index, parseDate(field, type, value));
+                break;
+            default:
+                batch.setString(index, value);
+                break;
+        }
+    }
+
+    @Override
+    public void endRow(int rowNum) {
+        if (headerRow) {
+            resolveColumns();
+            return;
+        }
+        if (batch == null || isDone()) {
+            return;
+        }
+        if (skipped < offset) {
+            skipped++;
+            return;
+        }
+        delivered++;
+        if (batch.commitRow()) {
+            flush();
+        }
+    }
+
+    @Override
+    public void endSheet() {
+        if (batch != null && batch.size() > 0) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        consumer.accept(batch);
+        batch.reset();
+    }
+
+    private void resolveColumns() {
+        int[] columns = mapping.resolveColumns(header);
+        int count = 0;
+        int lastColumn = -1;
+        for (int i = 0; i < fields.length; i++) {
+            if (projection == null || projection.contains(fields[i].getColumn().getValue())) {
+                count++;
+                lastColumn = Math.max(lastColumn, columns[i]);
+            }
+        }
+        columnFields = new FieldMapping[count];
+        String[] names = new String[count];
+        ColumnType[] types = new ColumnType[count];
+        batchColumns = new int[lastColumn + 1];
+        Arrays.fill(batchColumns, -1);
+        int index = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (projection != null && !projection.contains(fields[i].getColumn().getValue())) {
+                continue;
+            }
+            columnFields[index] = fields[i];
+            names[index] = fields[i].getColumn().getValue();
+            types[index] = ColumnType.of(fields[i].getCodec());
+            if (columns[i] >= 0) {
+                batchColumns[columns[i]] = index;
+            }
+            index++;
+        }
+        batch = new ColumnBatch(names, types, capacity);
+    }
+
+    private long parseLong(FieldMapping field, CellType type, CharSequence value) {
+        int length = value.length();
+        int start = value.charAt(0) == '-' || value.charAt(0) == '+' ? 1 : 0;
+        long result = 0;
+        int i = start;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            result = result * 10 + (c - '0');
+        }
+        if (i == length && length > start) {
+            if (length - start > 18) {
+                return Long.parseLong(value.toString());
+            }
+            return value.charAt(0) == '-' ? -result : result;
+        }
+        return Type.toIntegral(parseDouble(field, type, value), Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    private double parseDouble(FieldMapping field, CellType type, CharSequence value) {
+        double fast = fastParseDouble(value);
+        if (!Double.isNaN(fast)) {
+            return fast;
+        }
+        if (type == CellType.NUMERIC) {
+            return Double.parseDouble(value.toString());
+        }
+        Object parsed = field.getCodec().parse(value.toString(), field.getFormat());
+        return parsed == null ? 0 : ((Number) parsed).doubleValue();
+    }
+
+    private static boolean parseBoolean(CellType type, CharSequence value) {
+        if (type == CellType.BOOLEAN) {
+            return value.charAt(0) == '1';
+        }
+        if (value.length() == 1) {
+            return value.charAt(0) != '0';
+        }
+        if (value.length() != 4) {
+            return false;
+        }
+        for (int i = 0; i < 4; i++) {
+            if (Character.toLowerCase(value.charAt(i)) != "true".charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long parseDate(FieldMapping field, CellType type, CharSequence value) {
+        if (type == CellType.NUMERIC) {
+            double serial = fastParseDouble(value);
+            if (Double.isNaN(serial)) {
+                serial = Double.parseDouble(value.toString());
+            }
+            long days = (long) Math.floor(serial);
+            long millisOfDay = Math.round((serial - days) * MILLIS_PER_DAY);
+            long local = (EXCEL_EPOCH_DAY + (days < 61 ? days + 1 : days)) * MILLIS_PER_DAY + millisOfDay;
+            return local - zone.getOffset(local - zone.getRawOffset());
+        }
+        Object parsed = field.getCodec().parse(value.toString(), field.getFormat());
+        if (parsed instanceof Date) {
+            return ((Date) parsed).getTime();
+        }
+        if (parsed instanceof Instant) {
+            return ((Instant) parsed).toEpochMilli();
+        }
+        if (parsed instanceof LocalDateTime) {
+            return ((LocalDateTime) parsed).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        if (parsed instanceof LocalDate) {
+            return ((LocalDate) parsed).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        throw new ExcelException("unsupported date value: " + value);
+    }
+
+    /**
+     * 解析形如 -123.45E-6 的十进制文本，有效数字不超过2^53且指数不超过22时结果精确，否则返回NaN
+     * Parse decimal text such as -123.45E-6, the result is exact when the significant digits stay below 2^53 and
+     * the exponent within 22, NaN is returned otherwise
+     */
+    static double fastParseDouble(CharSequence value) {
+        int length = value.length();
+        int i = 0;
+        boolean negative = false;
+        if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+            negative = value.charAt(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean fraction = false;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (mantissa >= MAX_EXACT_MANTISSA / 10) {
+                    return Double.NaN;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (fraction) {
+                    scale--;
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+        if (i < length) {
+            char c = value.charAt(i);
+            if (c != 'E' && c != 'e' || ++i == length) {
+                return Double.NaN;
+            }
+            boolean negativeExponent = false;
+            if (value.charAt(i) == '-' || value.charAt(i) == '+') {
+                negativeExponent = value.charAt(i) == '-';
+                if (++i == length) {
+                    return Double.NaN;
+                }
+            }
+            int exponent = 0;
+            for (; i < length; i++) {
+                c = value.charAt(i);
+                if (c < '0' || c > '9' || exponent > 1000) {
+                    return Double.NaN;
+                }
+                exponent = exponent * 10 + (c - '0');
+            }
+            scale += negativeExponent ? -exponent : exponent;
+        }
+        double result;
+        if (scale == 0) {
+            result = mantissa;
+        } else if (scale > 0 && scale < POWERS_OF_TEN.length) {
+            result = mantissa * POWERS_OF_TEN[scale];
+        } else if (scale < 0 && -scale < POWERS_OF_TEN.length) {
+            result = mantissa / POWERS_OF_TEN[-scale];
+        } else {
+            return Double.NaN;
+        }
+        return negative ? -result : result;
+    }
+}
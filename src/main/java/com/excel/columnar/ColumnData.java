@@ -0,0 +1,232 @@
+package com.excel.columnar;
+
+import com.excel.codec.Codec;
+import com.excel.enums.PrimitiveType;
+import com.excel.enums.Type;
+import com.excel.exception.ExcelException;
+import com.excel.meta.ExcelColumn;
+import com.excel.meta.FieldAccessor;
+import com.excel.meta.FieldMapping;
+import com.excel.utils.AssertUtils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 列式写入的数据，每列一个数组，不需要实体类；写入时直接从数组取值，不创建对象也不使用反射
+ * Data of a columnar write, one array per column and no entity class; values are taken straight from the arrays when
+ * writing, without creating objects or using reflection
+ * <p>
+ * 列按添加的顺序写入，表头信息由 ExcelColumn 描述，与 ExcelAnno 相同；数组写入完成之前不能修改
+ * Columns are written in the order they are added, their header metadata is described by ExcelColumn, the same as
+ * ExcelAnno; the arrays must not be modified until the write completes
+ *
+ * @author heng.lei
+ */
+public final class ColumnData {
+
+    private final int rows;
+
+    private final List<FieldMapping> fields = new ArrayList<>();
+
+    private ColumnData(int rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * @param rows 行数，每个数组至少这么长(number of rows, every array is at least this long)
+     * @return ColumnData
+     */
+    public static ColumnData rows(int rows) {
+        AssertUtils.isTrue(rows >= 0, "rows must not be negative");
+        return new ColumnData(rows);
+    }
+
+    /**
+     * 整数列
+     * Integer column
+     */
+    public ColumnData longs(String header, long[] values) {
+        return longs(ExcelColumn.builder(header).build(), values);
+    }
+
+    public ColumnData longs(ExcelColumn column, long[] values) {
+        checkLength(values.length);
+        return add(column, PrimitiveType.LONG, new ArrayAccessor() {
+            @Override
+            public Object get(Object bean) {
+                return values[((Cursor) bean).row];
+            }
+
+            @Override
+            public long getLong(Object bean) {
+                return values[((Cursor) bean).row];
+            }
+        });
+    }
+
+    /**
+     * 小数列
+     * Decimal column
+     */
+    public ColumnData doubles(String header, double[] values) {
+        return doubles(ExcelColumn.builder(header).build(), values);
+    }
+
+    public ColumnData doubles(ExcelColumn column, double[] values) {
+        checkLength(values.length);
+        return add(column, PrimitiveType.DOUBLE, new ArrayAccessor() {
+            @Override
+            public Object get(Object bean) {
+                return values[((Cursor) bean).row];
+            }
+
+            @Override
+            public double getDouble(Object bean) {
+                return values[((Cursor) bean).row];
+            }
+        });
+    }
+
+    /**
+     * 布尔列
+     * Boolean column
+     */
+    public ColumnData booleans(String header, boolean[] values) {
+        return booleans(ExcelColumn.builder(header).build(), values);
+    }
+
+    public ColumnData booleans(ExcelColumn column, boolean[] values) {
+        checkLength(values.length);
+        return add(column, PrimitiveType.BOOLEAN, new ArrayAccessor() {
+            @Override
+            public Object get(Object bean) {
+                return values[((Cursor) bean).row];
+            }
+
+            @Override
+            public boolean getBoolean(Object bean) {
+                return values[((Cursor) bean).row];
+            }
+        });
+    }
+
+    /**
+     * 字符串列，null写成空单元格
+     * String column, null is written as an empty cell
+     */
+    public ColumnData strings(String header, String[] values) {
+        return strings(ExcelColumn.builder(header).build(), values);
+    }
+
+    public ColumnData strings(ExcelColumn column, String[] values) {
+        checkLength(values.length);
+        return add(column, Type.STRING, new ArrayAccessor() {
+            @Override
+            public Object get(Object bean) {
+                return values[((Cursor) bean).row];
+            }
+        });
+    }
+
+    /**
+     * 日期列，值为毫秒时间戳，按系统默认时区写入；格式为空时为 yyyy-MM-dd HH:mm:ss
+     * Date column of epoch milliseconds, written in the system default zone; the format defaults to
+     * yyyy-MM-dd HH:mm:ss
+     */
+    public ColumnData dates(String header, long[] epochMillis) {
+        return dates(ExcelColumn.builder(header).build(), epochMillis);
+    }
+
+    public ColumnData dates(ExcelColumn column, long[] epochMillis) {
+        checkLength(epochMillis.length);
+        return add(column, new EpochDateCodec(), new ArrayAccessor() {
+            @Override
+            public Object get(Object bean) {
+                return epochMillis[((Cursor) bean).row];
+            }
+
+            @Override
+            public long getLong(Object bean) {
+                return epochMillis[((Cursor) bean).row];
+            }
+        });
+    }
+
+    /**
+     * 行数
+     * Number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * 每列的字段映射，按添加的顺序
+     * Field mapping of each column, in the order they were added
+     */
+    public FieldMapping[] getFields() {
+        return fields.toArray(new FieldMapping[0]);
+    }
+
+    /**
+     * 逐行迭代，每次返回同一个游标对象，只能交给 getFields() 中的映射使用
+     * Iterate row by row, the same cursor object is returned every time and may only be passed to the mappings of
+     * getFields()
+     */
+    public Iterator<Object> iterator() {
+        return new Cursor(rows);
+    }
+
+    private ColumnData add(ExcelColumn column, Codec codec, FieldAccessor accessor) {
+        fields.add(FieldMapping.of(accessor, fields.size(), column, codec));
+        return this;
+    }
+
+    private void checkLength(int length) {
+        AssertUtils.isTrue(length >= rows, "column is shorter than " + rows + " rows");
+    }
+
+    /**
+     * 从数组取值的访问器，列式数据只用于写入
+     * Accessor taking values from an array, columnar data is only written
+     */
+    private abstract static class ArrayAccessor extends FieldAccessor {
+
+        @Override
+        public void set(Object bean, Object value) {
+            throw new ExcelException("columnar data is write only");
+        }
+    }
+
+    /**
+     * 当前行的游标，同时也是行的迭代器
+     * Cursor of the current row, also the iterator of the rows
+     */
+    private static final class Cursor implements Iterator<Object> {
+
+        private final int rows;
+
+        private int row = -1;
+
+        private Cursor(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return row + 1 < rows;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            row++;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.excel.columnar;
+
+import com.excel.codec.Codec;
+import com.excel.enums.PrimitiveType;
+import com.excel.enums.Type;
+
+/**
+ * 列式批次中一列的存储类型，由字段的转换器决定
+ * Storage type of a column in a columnar batch, decided by the codec of the field
+ *
+ * @author heng.lei
+ */
+public enum ColumnType {
+
+    /**
+     * 整数，存为 long[]；Integer/Long/Short/Byte 及其基本类型
+     * Integers stored as long[]; Integer/Long/Short/Byte and their primitives
+     */
+    LONG,
+
+    /**
+     * 小数，存为 double[]；Double/Float/BigDecimal 及其基本类型
+     * Decimals stored as double[]; Double/Float/BigDecimal and their primitives
+     */
+    DOUBLE,
+
+    /**
+     * 布尔，存为 boolean[]
+     * Booleans stored as boolean[]
+     */
+    BOOLEAN,
+
+    /**
+     * 日期，存为 long[] 的毫秒时间戳；LocalDate/LocalDateTime 按系统默认时区换算
+     * Dates stored as long[] epoch milliseconds; LocalDate/LocalDateTime are converted in the system default zone
+     */
+    DATE,
+
+    /**
+     * 字符串及其他类型，按字典编码存为 int[]
+     * Strings and any other type, dictionary-encoded as int[]
+     */
+    STRING;
+
+    /**
+     * 转换器对应的存储类型
+     * Storage type of a codec
+     *
+     * @param codec 转换器(codec)
+     * @return ColumnType
+     */
+    public static ColumnType of(Codec codec) {
+        if (codec instanceof PrimitiveType) {
+            switch ((PrimitiveType) codec) {
+                case INT:
+                case LONG:
+                case SHORT:
+                case BYTE:
+                    return LONG;
+                case DOUBLE:
+                case FLOAT:
+                    return DOUBLE;
+                case BOOLEAN:
+                    return BOOLEAN;
+                default:
+                    return STRING;
+            }
+        }
+        if (codec instanceof Type) {
+            switch ((Type) codec) {
+                case INTEGER:
+                case LONG:
+                case SHORT:
+                case BYTE:
+                    return LONG;
+                case DOUBLE:
+                case FLOAT:
+                case BIG_DECIMAL:
+                    return DOUBLE;
+                case BOOLEAN:
+                    return BOOLEAN;
+                case DATE:
+                case LOCAL_DATE:
+                case LOCAL_DATE_TIME:
+                case INSTANT:
+                    return DATE;
+                default:
+                    return STRING;
+            }
+        }
+        return STRING;
+    }
+}
@@ -0,0 +1,87 @@
+package com.excel.columnar;
+
+import com.excel.codec.Codec;
+import com.excel.meta.FieldAccessor;
+import com.excel.utils.DateFormat;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.TimeZone;
+
+/**
+ * 毫秒时间戳列的转换器，按系统默认时区写成excel日期数值，写入单元格时不创建日期对象
+ * Codec of epoch millisecond columns, written as Excel date numbers in the system default zone without creating a
+ * date object per cell
+ *
+ * @author heng.lei
+ */
+final class EpochDateCodec implements Codec {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /**
+     * 1970-01-01 的excel日期数值
+     * Excel date number of 1970-01-01
+     */
+    private static final long EPOCH_SERIAL = 25569;
+
+    /**
+     * 1900-03-01 的excel日期数值，之前的日期excel多算了一个不存在的1900-02-29
+     * Excel date number of 1900-03-01, Excel counts a non-existent 1900-02-29 before it
+     */
+    private static final long FIRST_EXACT_SERIAL = 61;
+
+    private final TimeZone zone = TimeZone.getDefault();
+
+    @Override
+    public String format(Object value, String format) {
+        return value == null ? "" : DateFormat.format(Instant.ofEpochMilli((Long) value), format);
+    }
+
+    @Override
+    public Object parse(String value, String format) {
+        return value == null || value.isEmpty() ? null : DateFormat.parse(value, format).getTime();
+    }
+
+    @Override
+    public String write(Object bean, FieldAccessor accessor, String format) {
+        return DateFormat.format(Instant.ofEpochMilli(accessor.getLong(bean)), format);
+    }
+
+    @Override
+    public void writeCell(Cell cell, Object bean, FieldAccessor accessor, String format) {
+        long millis = accessor.getLong(bean);
+        long local = millis + zone.getOffset(millis);
+        long days = Math.floorDiv(local, MILLIS_PER_DAY);
+        long serial = days + EPOCH_SERIAL;
+        if (serial >= FIRST_EXACT_SERIAL) {
+            cell.setCellValue(serial + (double) Math.floorMod(local, MILLIS_PER_DAY) / MILLIS_PER_DAY);
+            return;
+        }
+        LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+        double excelDate = DateFormat.toExcelDate(dateTime);
+        if (excelDate < 0) {
+            cell.setCellValue(DateFormat.format(dateTime, format));
+        } else {
+            cell.setCellValue(excelDate);
+        }
+    }
+
+    @Override
+    public String defaultFormat() {
+        return DateFormat.DEFAULT_PATTERN;
+    }
+
+    @Override
+    public CellType cellType() {
+        return CellType.NUMERIC;
+    }
+
+    @Override
+    public boolean isDate() {
+        return true;
+    }
+}
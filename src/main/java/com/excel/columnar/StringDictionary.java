@@ -0,0 +1,121 @@
+package com.excel.columnar;
+
+import java.util.Arrays;
+
+/**
+ * 一列字符串在一批中的字典，相同内容的字符串编码相同，只有在本批中第一次出现时才创建 String；每批开始时清空，
+ * 编码只在本批内有效，字典最多保存一批的行数个字符串，与文件大小无关
+ * Dictionary of the strings of a column within one batch, equal strings get the same code and a String is only
+ * created on the first occurrence in the batch; it is cleared when a batch starts, codes are only valid within the
+ * batch and the dictionary holds at most one batch worth of strings, independent of the file size
+ *
+ * @author heng.lei
+ */
+public final class StringDictionary {
+
+    private String[] values = new String[64];
+
+    /**
+     * 开放寻址的哈希表，存放编码+1，0表示空位
+     * Open addressing hash table holding code + 1, 0 is an empty slot
+     */
+    private int[] slots = new int[128];
+
+    private int[] hashes = new int[64];
+
+    private int size;
+
+    /**
+     * 字符串的编码，不存在时加入字典
+     * Code of a string, added to the dictionary when missing
+     *
+     * @param value 字符串(string)
+     * @return 编码(code)
+     */
+    public int encode(CharSequence value) {
+        int hash = hash(value);
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            int code = slots[slot] - 1;
+            if (hashes[code] == hash && contentEquals(values[code], value)) {
+                return code;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int code = size++;
+        if (code == values.length) {
+            values = Arrays.copyOf(values, code * 2);
+            hashes = Arrays.copyOf(hashes, code * 2);
+        }
+        values[code] = value.toString();
+        hashes[code] = hash;
+        slots[slot] = code + 1;
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return code;
+    }
+
+    /**
+     * 编码对应的字符串
+     * String of a code
+     *
+     * @param code 编码(code)
+     * @return 字符串(string)
+     */
+    public String get(int code) {
+        return values[code];
+    }
+
+    /**
+     * 不同字符串的个数，编码从0到 size-1
+     * Number of distinct strings, codes run from 0 to size - 1
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 清空字典，数组保留复用
+     * Clear the dictionary, the arrays are kept for reuse
+     */
+    void clear() {
+        Arrays.fill(values, 0, size, null);
+        Arrays.fill(slots, 0);
+        size = 0;
+    }
+
+    private void rehash() {
+        int[] table = new int[slots.length * 2];
+        int mask = table.length - 1;
+        for (int code = 0; code < size; code++) {
+            int slot = hashes[code] & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = code + 1;
+        }
+        slots = table;
+    }
+
+    private static int hash(CharSequence value) {
+        int hash = 0;
+        for (int i = 0, n = value.length(); i < n; i++) {
+            hash = 31 * hash + value.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean contentEquals(String string, CharSequence value) {
+        if (string.length() != value.length()) {
+            return false;
+        }
+        for (int i = 0, n = string.length(); i < n; i++) {
+            if (string.charAt(i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,215 @@
+package com.excel.csv;
+
+import com.excel.sax.RowVisitor;
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * 按 RFC 4180 流式解析CSV，每一行回调一次 RowVisitor，与xlsx的SAX读取共用行到实体类的转换
+ * Streaming RFC 4180 CSV parser, the RowVisitor is called back once per row, the conversion of rows into entities is
+ * shared with the SAX read of xlsx
+ * <p>
+ * 只保留当前字段的内容，visitor 不需要的列不保存；空字段和空行不回调
+ * Only the content of the current field is kept, columns the visitor does not need are not kept either; empty fields
+ * and blank lines are not reported
+ *
+ * @author heng.lei
+ */
+public class CsvReader {
+
+    private static final int BUFFER_SIZE = 1 << 14;
+
+    private static final int FIELD_START = 0;
+
+    private static final int UNQUOTED = 1;
+
+    private static final int QUOTED = 2;
+
+    private static final int QUOTE_IN_QUOTED = 3;
+
+    private final RowVisitor visitor;
+
+    private final StringBuilder field = new StringBuilder(64);
+
+    private int state = FIELD_START;
+
+    /**
+     * 当前字段是否需要保存
+     * Whether the current field is kept
+     */
+    private boolean capturing;
+
+    /**
+     * visitor 不再需要更多的行
+     * The visitor needs no more rows
+     */
+    private boolean done;
+
+    private boolean skipLineFeed;
+
+    private boolean firstChar = true;
+
+    private boolean rowStarted;
+
+    private int rowNum;
+
+    private int column;
+
+    public CsvReader(RowVisitor visitor) {
+        this.visitor = visitor;
+    }
+
+    /**
+     * 解析整个输入流，不关闭输入流
+     * Parse the whole input stream, the input stream is not closed
+     *
+     * @param in      输入流(input stream)
+     * @param charset 字符集(charset)
+     */
+    public void read(InputStream in, Charset charset) throws IOException {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+        boolean eof = false;
+        while (!done) {
+            if (!eof) {
+                int count = in.read(bytes.array(), bytes.position(), bytes.remaining());
+                if (count < 0) {
+                    eof = true;
+                } else {
+                    // called through Buffer so that classes built on a newer JDK still link on Java 8
+                    ((Buffer) bytes).position(bytes.position() + count);
+                }
+            }
+            ((Buffer) bytes).flip();
+            CoderResult result = decoder.decode(bytes, chars, eof);
+            bytes.compact();
+            if (result.isError()) {
+                result.throwException();
+            }
+            parse(chars);
+            if (eof && result.isUnderflow()) {
+                decoder.flush(chars);
+                parse(chars);
+                break;
+            }
+        }
+        if (rowStarted) {
+            endRow();
+        }
+        visitor.endSheet();
+    }
+
+    private void parse(CharBuffer chars) {
+        ((Buffer) chars).flip();
+        char[] buffer = chars.array();
+        int start = chars.position();
+        int end = chars.limit();
+        if (firstChar && start < end) {
+            firstChar = false;
+            if (buffer[start] == '\uFEFF') {
+                start++;
+            }
+        }
+        for (int i = start; i < end && !done; i++) {
+            char c = buffer[i];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            if (!rowStarted) {
+                if (c == '\r' || c == '\n') {
+                    // blank line
+                    skipLineFeed = c == '\r';
+                    continue;
+                }
+                startRow();
+            }
+            switch (state) {
+                case QUOTED:
+                    if (c == '"') {
+                        state = QUOTE_IN_QUOTED;
+                    } else if (capturing) {
+                        field.append(c);
+                    }
+                    continue;
+                case QUOTE_IN_QUOTED:
+                    if (c == '"') {
+                        if (capturing) {
+                            field.append('"');
+                        }
+                        state = QUOTED;
+                        continue;
+                    }
+                    // the closing quote, anything up to the next separator is kept as is
+                    state = UNQUOTED;
+                    break;
+                default:
+                    break;
+            }
+            switch (c) {
+                case ',':
+                    endField();
+                    break;
+                case '\r':
+                    skipLineFeed = true;
+                    endRow();
+                    break;
+                case '\n':
+                    endRow();
+                    break;
+                case '"':
+                    if (state == FIELD_START) {
+                        state = QUOTED;
+                    } else if (capturing) {
+                        field.append(c);
+                    }
+                    break;
+                default:
+                    if (capturing) {
+                        field.append(c);
+                    }
+                    state = UNQUOTED;
+                    break;
+            }
+        }
+        ((Buffer) chars).clear();
+    }
+
+    private void startRow() {
+        rowStarted = true;
+        visitor.startRow(rowNum);
+        capturing = visitor.accepts(column);
+    }
+
+    private void endField() {
+        if (field.length() > 0) {
+            visitor.cell(column, CellType.STRING, field);
+            field.setLength(0);
+        }
+        column++;
+        capturing = visitor.accepts(column);
+        state = FIELD_START;
+    }
+
+    private void endRow() {
+        endField();
+        visitor.endRow(rowNum++);
+        done = visitor.isDone();
+        rowStarted = false;
+        column = 0;
+    }
+}
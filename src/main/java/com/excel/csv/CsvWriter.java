@@ -0,0 +1,194 @@
+package com.excel.csv;
+
+import com.excel.meta.FieldMapping;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * 按 RFC 4180 把实体类写成CSV，字符直接写入可复用的 CharBuffer，满了再编码到 ByteBuffer 输出
+ * Writes entities as RFC 4180 CSV, characters go straight into a reused CharBuffer which is encoded into a
+ * ByteBuffer and written out when full
+ * <p>
+ * 列的位置与xlsx相同，由 ExcelAnno.column 或字段下标决定，字段值由与xlsx相同的转换器转成文本
+ * Columns are placed as in xlsx, by ExcelAnno.column or the field index, field values are converted to text by the
+ * same codecs as xlsx
+ *
+ * @author heng.lei
+ */
+public class CsvWriter {
+
+    private static final int BUFFER_SIZE = 1 << 14;
+
+    private final OutputStream out;
+
+    private final CharsetEncoder encoder;
+
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+
+    private final ByteBuffer bytes;
+
+    /**
+     * 按列号排列的字段，没有字段的列为null
+     * Fields by column index, null for columns without a field
+     */
+    private final FieldMapping[] columns;
+
+    /**
+     * @param out     输出流(output stream)
+     * @param charset 字符集(charset)
+     * @param fields  字段映射(field mappings)
+     */
+    public CsvWriter(OutputStream out, Charset charset, FieldMapping[] fields) {
+        this.out = out;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.bytes = ByteBuffer.allocate((int) (BUFFER_SIZE * encoder.maxBytesPerChar()));
+        int width = 0;
+        for (FieldMapping field : fields) {
+            width = Math.max(width, field.getWriteColumn() + 1);
+        }
+        this.columns = new FieldMapping[width];
+        for (FieldMapping field : fields) {
+            columns[field.getWriteColumn()] = field;
+        }
+    }
+
+    /**
+     * 写入表头
+     * Write the header
+     */
+    public void writeHeader() throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                put(',');
+            }
+            if (columns[i] != null) {
+                writeField(columns[i].getColumn().getValue());
+            }
+        }
+        endRecord();
+    }
+
+    /**
+     * 写入一行数据
+     * Write one data row
+     *
+     * @param data 实体类(object)
+     */
+    public void writeRow(Object data) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                put(',');
+            }
+            if (columns[i] != null) {
+                writeField(columns[i].write(data));
+            }
+        }
+        endRecord();
+    }
+
+    /**
+     * 把缓冲中的内容编码后写出，不关闭输出流
+     * Encode and write out what is buffered, the output stream is not closed
+     */
+    public void flush() throws IOException {
+        // called through Buffer so that classes built on a newer JDK still link on Java 8
+        ((Buffer) chars).flip();
+        encode(true);
+        drain(encoder.flush(bytes));
+        writeBytes();
+        encoder.reset();
+        ((Buffer) chars).clear();
+        out.flush();
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            put(value, 0, value.length());
+            return;
+        }
+        put('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                put(value, start, i + 1);
+                start = i;
+            }
+        }
+        put(value, start, value.length());
+        put('"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void endRecord() throws IOException {
+        put('\r');
+        put('\n');
+    }
+
+    private void put(char c) throws IOException {
+        if (!chars.hasRemaining()) {
+            spill();
+        }
+        chars.put(c);
+    }
+
+    private void put(String value, int start, int end) throws IOException {
+        while (start < end) {
+            if (!chars.hasRemaining()) {
+                spill();
+            }
+            int count = Math.min(end - start, chars.remaining());
+            chars.put(value, start, start + count);
+            start += count;
+        }
+    }
+
+    private void spill() throws IOException {
+        ((Buffer) chars).flip();
+        encode(false);
+        chars.compact();
+    }
+
+    private void encode(boolean endOfInput) throws IOException {
+        CoderResult result;
+        do {
+            result = encoder.encode(chars, bytes, endOfInput);
+            drain(result);
+        } while (result.isOverflow());
+    }
+
+    private void drain(CoderResult result) throws IOException {
+        if (result.isError()) {
+            result.throwException();
+        }
+        if (result.isOverflow() || bytes.position() > 0) {
+            writeBytes();
+        }
+    }
+
+    private void writeBytes() throws IOException {
+        out.write(bytes.array(), 0, bytes.position());
+        ((Buffer) bytes).clear();
+    }
+}
@@ -0,0 +1,179 @@
+package com.excel.enums;
+
+import com.excel.codec.Codec;
+import com.excel.meta.FieldAccessor;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.util.Objects;
+
+/**
+ * 基本类型字段的转换器，int/long/double/boolean 读写时不装箱
+ * Codecs of primitive fields, int/long/double/boolean are read and written without boxing
+ * <p>
+ * 空单元格不会修改基本类型字段，字段保持默认值
+ * Empty cells leave primitive fields untouched, the field keeps its default value
+ */
+public enum PrimitiveType implements Codec {
+
+    INT(int.class, Type.INTEGER) {
+        @Override
+        public String write(Object bean, FieldAccessor accessor, String format) {
+            return Integer.toString(accessor.getInt(bean));
+        }
+
+        @Override
+        public void read(Object bean, FieldAccessor accessor, String value, String format) {
+            if (!isEmpty(value)) {
+                accessor.setInt(bean, Integer.parseInt(value));
+            }
+        }
+
+        @Override
+        public void writeCell(Cell cell, Object bean, FieldAccessor accessor, String format) {
+            cell.setCellValue(accessor.getInt(bean));
+        }
+
+        @Override
+        public void readNumeric(Object bean, FieldAccessor accessor, double value, String format) {
+            accessor.setInt(bean, (int) Type.toIntegral(value, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        }
+    },
+    LONG(long.class, Type.LONG) {
+        @Override
+        public String write(Object bean, FieldAccessor accessor, String format) {
+            return Long.toString(accessor.getLong(bean));
+        }
+
+        @Override
+        public void read(Object bean, FieldAccessor accessor, String value, String format) {
+            if (!isEmpty(value)) {
+                accessor.setLong(bean, Long.parseLong(value));
+            }
+        }
+
+        @Override
+        public void writeCell(Cell cell, Object bean, FieldAccessor accessor, String format) {
+            Type.writeLong(cell, accessor.getLong(bean));
+        }
+
+        @Override
+        public void readNumeric(Object bean, FieldAccessor accessor, double value, String format) {
+            accessor.setLong(bean, Type.toIntegral(value, Long.MIN_VALUE, Long.MAX_VALUE));
+        }
+    },
+    DOUBLE(double.class, Type.DOUBLE) {
+        @Override
+        public String write(Object bean, FieldAccessor accessor, String format) {
+            return Double.toString(accessor.getDouble(bean));
+        }
+
+        @Override
+        public void read(Object bean, FieldAccessor accessor, String value, String format) {
+            if (!isEmpty(value)) {
+                accessor.setDouble(bean, Double.parseDouble(value));
+            }
+        }
+
+        @Override
+        public void writeCell(Cell cell, Object bean, FieldAccessor accessor, String format) {
+            cell.setCellValue(accessor.getDouble(bean));
+        }
+
+        @Override
+        public void readNumeric(Object bean, FieldAccessor accessor, double value, String format) {
+            accessor.setDouble(bean, value);
+        }
+    },
+    BOOLEAN(boolean.class, Type.BOOLEAN) {
+        @Override
+        public String write(Object bean, FieldAccessor accessor, String format) {
+            return Boolean.toString(accessor.getBoolean(bean));
+        }
+
+        @Override
+        public void read(Object bean, FieldAccessor accessor, String value, String format) {
+            if (!isEmpty(value)) {
+                accessor.setBoolean(bean, Boolean.parseBoolean(value));
+            }
+        }
+
+        @Override
+        public void writeCell(Cell cell, Object bean, FieldAccessor accessor, String format) {
+            cell.setCellValue(accessor.getBoolean(bean));
+        }
+
+        @Override
+        public void readNumeric(Object bean, FieldAccessor accessor, double value, String format) {
+            accessor.setBoolean(bean, value != 0);
+        }
+
+        @Override
+        public void readBoolean(Object bean, FieldAccessor accessor, boolean value, String format) {
+            accessor.setBoolean(bean, value);
+        }
+    },
+    BYTE(byte.class, Type.BYTE),
+    SHORT(short.class, Type.SHORT),
+    FLOAT(float.class, Type.FLOAT),
+    CHAR(char.class, Type.CHAR);
+
+    private final Class<?> fileType;
+
+    private final Type boxed;
+
+    PrimitiveType(Class<?> fileType, Type boxed) {
+        this.fileType = fileType;
+        this.boxed = boxed;
+    }
+
+    public Class<?> getFileType() {
+        return fileType;
+    }
+
+    @Override
+    public String format(Object value, String format) {
+        return boxed.format(value, format);
+    }
+
+    @Override
+    public Object parse(String value, String format) {
+        return boxed.parse(value, format);
+    }
+
+    @Override
+    public void read(Object bean, FieldAccessor accessor, String value, String format) {
+        if (!isEmpty(value)) {
+            accessor.set(bean, parse(value, format));
+        }
+    }
+
+    @Override
+    public String defaultFormat() {
+        return boxed.defaultFormat();
+    }
+
+    @Override
+    public CellType cellType() {
+        return boxed.cellType();
+    }
+
+    @Override
+    public void writeValue(Cell cell, Object value, String format) {
+        boxed.writeValue(cell, value, format);
+    }
+
+    @Override
+    public Object fromNumeric(double value, String format) {
+        return boxed.fromNumeric(value, format);
+    }
+
+    @Override
+    public Object fromBoolean(boolean value, String format) {
+        return boxed.fromBoolean(value, format);
+    }
+
+    private static boolean isEmpty(String value) {
+        return Objects.isNull(value) || value.isEmpty();
+    }
+}
@@ -0,0 +1,29 @@
+package com.excel.enums;
+
+/**
+ * 字符串单元格的存储方式
+ * How string cells are stored
+ */
+public enum StringStrategy {
+
+    /**
+     * 列上表示跟随workbook；workbook上表示内存写入用共享字符串表，流式写入用内联字符串
+     * On a column: follow the workbook; on a workbook: shared strings when writing in memory, inline strings when
+     * streaming
+     */
+    DEFAULT,
+
+    /**
+     * 内联字符串，写入内存与不同字符串的数量无关，适合ID、备注等几乎不重复的列
+     * Inline strings, writer memory does not depend on the number of distinct strings, suits columns such as IDs and
+     * free text that hardly repeat
+     */
+    INLINE,
+
+    /**
+     * 共享字符串表，重复的字符串只保存一次，适合枚举、状态等低基数列；表的大小有上限，超过后改为内联
+     * Shared strings table, a repeated string is stored once, suits low cardinality columns such as enums and states;
+     * the table is bounded and strings beyond the bound are written inline
+     */
+    SHARED
+}
@@ -1,14 +1,24 @@
 package com.excel.enums;
 
+import com.excel.codec.Codec;
 import com.excel.exception.ExcelException;
 import com.excel.utils.DateFormat;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.NumberToTextConverter;
 
 import java.math.BigDecimal;
-import java.util.Arrays;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
-public enum Type {
+public enum Type implements Codec {
 
     DATE(Date.class) {
         @Override
@@ -27,6 +37,177 @@ public enum Type {
             }
             return DateFormat.parse(value, format);
         }
+
+        @Override
+        public CellType cellType() {
+            return CellType.NUMERIC;
+        }
+
+        @Override
+        public String defaultFormat() {
+            return DateFormat.DEFAULT_PATTERN;
+        }
+
+        @Override
+        public boolean isDate() {
+            return true;
+        }
+
+        @Override
+        public void writeValue(Cell cell, Object value, String format) {
+            double excelDate = DateUtil.getExcelDate((Date) value);
+            if (excelDate < 0) {
+                cell.setCellValue(format(value, format));
+            } else {
+                cell.setCellValue(excelDate);
+            }
+        }
+
+        @Override
+        public Object fromNumeric(double value, String format) {
+            return DateUtil.getJavaDate(value);
+        }
+    },
+    LOCAL_DATE(LocalDate.class) {
+        @Override
+        public String format(Object filed, String format) {
+            if(Objects.isNull(filed)){
+                return "";
+            }
+            return DateFormat.format((LocalDate) filed, format);
+        }
+
+        @Override
+        public Object parse(String value, String format) {
+            if(Objects.isNull(value) || value.isEmpty()){
+                return null;
+            }
+            return DateFormat.parseZoned(value, format).toLocalDate();
+        }
+
+        @Override
+        public String defaultFormat() {
+            return DateFormat.DEFAULT_DATE_PATTERN;
+        }
+
+        @Override
+        public CellType cellType() {
+            return CellType.NUMERIC;
+        }
+
+        @Override
+        public boolean isDate() {
+            return true;
+        }
+
+        @Override
+        public void writeValue(Cell cell, Object value, String format) {
+            double excelDate = DateFormat.toExcelDate(((LocalDate) value).atStartOfDay());
+            if (excelDate < 0) {
+                cell.setCellValue(format(value, format));
+            } else {
+                cell.setCellValue(excelDate);
+            }
+        }
+
+        @Override
+        public Object fromNumeric(double value, String format) {
+            return DateFormat.fromExcelDate(value).toLocalDate();
+        }
+    },
+    LOCAL_DATE_TIME(LocalDateTime.class) {
+        @Override
+        public String format(Object filed, String format) {
+            if(Objects.isNull(filed)){
+                return "";
+            }
+            return DateFormat.format((LocalDateTime) filed, format);
+        }
+
+        @Override
+        public Object parse(String value, String format) {
+            if(Objects.isNull(value) || value.isEmpty()){
+                return null;
+            }
+            return DateFormat.parseZoned(value, format).toLocalDateTime();
+        }
+
+        @Override
+        public String defaultFormat() {
+            return DateFormat.DEFAULT_PATTERN;
+        }
+
+        @Override
+        public CellType cellType() {
+            return CellType.NUMERIC;
+        }
+
+        @Override
+        public boolean isDate() {
+            return true;
+        }
+
+        @Override
+        public void writeValue(Cell cell, Object value, String format) {
+            double excelDate = DateFormat.toExcelDate((LocalDateTime) value);
+            if (excelDate < 0) {
+                cell.setCellValue(format(value, format));
+            } else {
+                cell.setCellValue(excelDate);
+            }
+        }
+
+        @Override
+        public Object fromNumeric(double value, String format) {
+            return DateFormat.fromExcelDate(value);
+        }
+    },
+    INSTANT(Instant.class) {
+        @Override
+        public String format(Object filed, String format) {
+            if(Objects.isNull(filed)){
+                return "";
+            }
+            return DateFormat.format((Instant) filed, format);
+        }
+
+        @Override
+        public Object parse(String value, String format) {
+            if(Objects.isNull(value) || value.isEmpty()){
+                return null;
+            }
+            return DateFormat.parseZoned(value, format).toInstant();
+        }
+
+        @Override
+        public String defaultFormat() {
+            return DateFormat.DEFAULT_PATTERN;
+        }
+
+        @Override
+        public CellType cellType() {
+            return CellType.NUMERIC;
+        }
+
+        @Override
+        public boolean isDate() {
+            return true;
+        }
+
+        @Override
+        public void writeValue(Cell cell, Object value, String format) {
+            double excelDate = DateFormat.toExcelDate(LocalDateTime.ofInstant((Instant) value, ZoneId.systemDefault()));
+            if (excelDate < 0) {
+                cell.setCellValue(format(value, format));
+            } else {
+                cell.setCellValue(excelDate);
+            }
+        }
+
+        @Override
+        public Object fromNumeric(double value, String format) {
+            return DateFormat.fromExcelDate(value).atZone(ZoneId.systemDefault()).toInstant();
+        }
     },
     BIG_DECIMAL(BigDecimal.class) {
         @Override
@@ -45,6 +226,33 @@ public enum Type {
             }
             return new BigDecimal(value);
         }
+
+        @Override
+        public CellType cellType() {
+            return CellType.NUMERIC;
+        }
+
+        @Override
+        public void writeValue(Cell cell, Object value, String format) {
+            BigDecimal bigDecimal = (BigDecimal) value;
+            if (bigDecimal.precision() <= MAX_PRECISION) {
+                cell.setCellValue(bigDecimal.doubleValue());
+            } else {
+                cell.setCellValue(bigDecimal.toString());
+            }
+        }
+
+        /**
+         * 按excel显示的最短十进制文本还原，格式有固定小数位(如 0.00)时补齐小数位，写入时的 1.50 读回仍为 1.50
+         * Restored from the shortest decimal text Excel shows, padded to the fixed decimals of the format (such as
+         * 0.00) so that 1.50 written reads back as 1.50
+         */
+        @Override
+        public Object fromNumeric(double value, String format) {
+            BigDecimal decimal = new BigDecimal(NumberToTextConverter.toText(value));
+            int scale = fixedDecimals(format);
+            return decimal.scale() < scale ? decimal.setScale(scale) : decimal;
+        }
     },
     INTEGER(Integer.class) {
         @Override
@@ -62,6 +270,21 @@ public enum Type {
             }
             return Integer.parseInt(value);
         }
+
+        @Override
+        public CellType cellType() {
+            return CellType.NUMERIC;
+        }
+
+        @Override
+        public void writeValue(Cell cell, Object value, String format) {
+            cell.setCellValue((Integer) value);
+        }
+
+        @Override
+        public Object fromNumeric(double value, String format) {
+            return (int) toIntegral(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
     },
     LONG(Long.class) {
         @Override
@@ -79,6 +302,21 @@ public enum Type {
             }
             return Long.parseLong(value);
         }
+
+        @Override
+        public CellType cellType() {
+            return CellType.NUMERIC;
+        }
+
+        @Override
+        public void writeValue(Cell cell, Object value, String format) {
+            writeLong(cell, (Long) value);
+        }
+
+        @Override
+        public Object fromNumeric(double value, String format) {
+            return toIntegral(value, Long.MIN_VALUE, Long.MAX_VALUE);
+        }
     },
     BYTE(Byte.class) {
         @Override
@@ -96,6 +334,21 @@ public enum Type {
             }
             return Byte.parseByte(value);
         }
+
+        @Override
+        public CellType cellType() {
+            return CellType.NUMERIC;
+        }
+
+        @Override
+        public void writeValue(Cell cell, Object value, String format) {
+            cell.setCellValue((Byte) value);
+        }
+
+        @Override
+        public Object fromNumeric(double value, String format) {
+            return (byte) toIntegral(value, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        }
     },
     SHORT(Short.class) {
         @Override
@@ -113,6 +366,21 @@ public enum Type {
             }
             return Short.parseShort(value);
         }
+
+        @Override
+        public CellType cellType() {
+            return CellType.NUMERIC;
+        }
+
+        @Override
+        public void writeValue(Cell cell, Object value, String format) {
+            cell.setCellValue((Short) value);
+        }
+
+        @Override
+        public Object fromNumeric(double value, String format) {
+            return (short) toIntegral(value, Short.MIN_VALUE, Short.MAX_VALUE);
+        }
     },
     BOOLEAN(Boolean.class) {
         @Override
@@ -130,6 +398,26 @@ public enum Type {
             }
             return Boolean.parseBoolean(value);
         }
+
+        @Override
+        public CellType cellType() {
+            return CellType.BOOLEAN;
+        }
+
+        @Override
+        public void writeValue(Cell cell, Object value, String format) {
+            cell.setCellValue((Boolean) value);
+        }
+
+        @Override
+        public Object fromNumeric(double value, String format) {
+            return value != 0;
+        }
+
+        @Override
+        public Object fromBoolean(boolean value, String format) {
+            return value;
+        }
     },
     DOUBLE(Double.class) {
         @Override
@@ -147,6 +435,21 @@ public enum Type {
             }
             return Double.parseDouble(value);
         }
+
+        @Override
+        public CellType cellType() {
+            return CellType.NUMERIC;
+        }
+
+        @Override
+        public void writeValue(Cell cell, Object value, String format) {
+            cell.setCellValue((Double) value);
+        }
+
+        @Override
+        public Object fromNumeric(double value, String format) {
+            return value;
+        }
     },
     FLOAT(Float.class) {
         @Override
@@ -164,6 +467,22 @@ public enum Type {
             }
             return Float.parseFloat(value);
         }
+
+        @Override
+        public CellType cellType() {
+            return CellType.NUMERIC;
+        }
+
+        @Override
+        public void writeValue(Cell cell, Object value, String format) {
+            // widen through the decimal text so 0.1f is written as 0.1 rather than 0.10000000149011612
+            cell.setCellValue(Double.parseDouble(value.toString()));
+        }
+
+        @Override
+        public Object fromNumeric(double value, String format) {
+            return (float) value;
+        }
     }, CHAR(Character.class) {
         @Override
         public String format(Object filed, String format) {
@@ -198,20 +517,98 @@ public enum Type {
         }
     };
 
+    /**
+     * excel数字只有15位有效数字，超过的以文本写入
+     * Excel numbers keep 15 significant digits, longer values are written as text
+     */
+    static final int MAX_PRECISION = 15;
+
+    private static final long MAX_EXACT_LONG = 999_999_999_999_999L;
+
+    private static final Map<Class<?>, Type> TYPES = new HashMap<>();
+
+    static {
+        for (Type type : values()) {
+            TYPES.put(type.fileType, type);
+        }
+    }
+
     private final Class<?> fileType;
 
     Type(Class<?> fileType) {
         this.fileType = fileType;
     }
 
+    public Class<?> getFileType() {
+        return fileType;
+    }
+
+    @Override
     public abstract String format(Object file, String format);
 
+    @Override
     public abstract Object parse(String value, String format);
 
+    /**
+     * 数字格式第一段的固定小数位数，百分号每个加2位，没有小数点或为科学计数法时为0
+     * Fixed decimal places of the first section of a number format, each percent sign adds 2, 0 without a decimal
+     * point or for scientific notation
+     */
+    static int fixedDecimals(String format) {
+        if (format == null) {
+            return 0;
+        }
+        int decimals = -1;
+        int percents = 0;
+        for (int i = 0; i < format.length(); i++) {
+            char c = format.charAt(i);
+            if (c == ';') {
+                break;
+            }
+            if (c == '"') {
+                int close = format.indexOf('"', i + 1);
+                i = close < 0 ? format.length() : close;
+            } else if (c == '\\') {
+                i++;
+            } else if (c == 'E' || c == 'e') {
+                return 0;
+            } else if (c == '%') {
+                percents++;
+            } else if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else if (c == '0' && decimals >= 0) {
+                decimals++;
+            }
+        }
+        return Math.max(decimals, 0) + 2 * percents;
+    }
+
+    static void writeLong(Cell cell, long value) {
+        if (value >= -MAX_EXACT_LONG && value <= MAX_EXACT_LONG) {
+            cell.setCellValue(value);
+        } else {
+            cell.setCellValue(Long.toString(value));
+        }
+    }
+
+    /**
+     * 数字单元格转成整数，有小数部分或超出范围时抛出异常，与解析文本时一致
+     * Convert a numeric cell to an integer, a fraction or a value out of range throws, the same as parsing text
+     */
+    public static long toIntegral(double value, long min, long max) {
+        // max + 1.0 is exact for every range here, including 2^63 for long
+        if (value != Math.rint(value) || value < min || value >= max + 1.0) {
+            throw new ExcelException("numeric value " + value + " is not an integer between " + min + " and " + max);
+        }
+        return (long) value;
+    }
+
     public static Type getType(Class<?> filedType) {
-        return Arrays.stream(Type.values()).filter(type -> type.fileType == filedType)
-                .findFirst()
-                .orElseThrow(() -> new ExcelException("class type not find"));
+        Type type = TYPES.get(filedType);
+        if (type == null) {
+            throw new ExcelException("class type not find");
+        }
+        return type;
     }
 
 }
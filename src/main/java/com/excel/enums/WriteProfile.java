@@ -0,0 +1,67 @@
+package com.excel.enums;
+
+import java.util.zip.Deflater;
+
+/**
+ * 写入配置：在写入速度和输出文件大小之间取舍，决定输出zip的压缩级别、流式写入时临时文件是否压缩和输出流的缓冲区大小
+ * Write profile: trades write speed against output size, it decides the deflate level of the output zip, whether
+ * the temp files are compressed when streaming and the buffer size of the output stream
+ */
+public enum WriteProfile {
+
+    /**
+     * 最快：最低的压缩级别，临时文件不压缩，大缓冲区；适合导出受CPU限制(耗时在deflate)的场景，文件通常大四分之一左右
+     * Fastest: lowest deflate level, uncompressed temp files and a large buffer; suits CPU-bound exports where the time
+     * goes to deflate, files are typically about a quarter larger
+     */
+    FASTEST(Deflater.BEST_SPEED, false, 256 * 1024),
+
+    /**
+     * 均衡：zip默认压缩级别，临时文件不压缩；与不指定配置时的行为一致
+     * Balanced: the default zip deflate level and uncompressed temp files; the same as writing without a profile
+     */
+    BALANCED(Deflater.DEFAULT_COMPRESSION, false, 64 * 1024),
+
+    /**
+     * 最小：最高的压缩级别，临时文件也压缩；适合受网络或磁盘限制的场景，写入更慢
+     * Smallest: highest deflate level and compressed temp files as well; suits network or disk bound exports, writes
+     * are slower
+     */
+    SMALLEST(Deflater.BEST_COMPRESSION, true, 64 * 1024);
+
+    private final int deflateLevel;
+
+    private final boolean compressTempFiles;
+
+    private final int bufferSize;
+
+    WriteProfile(int deflateLevel, boolean compressTempFiles, int bufferSize) {
+        this.deflateLevel = deflateLevel;
+        this.compressTempFiles = compressTempFiles;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * 输出zip的压缩级别，见 Deflater
+     * Deflate level of the output zip, see Deflater
+     */
+    public int getDeflateLevel() {
+        return deflateLevel;
+    }
+
+    /**
+     * 流式写入时是否压缩临时文件，可以被 compressTempFiles 覆盖
+     * Whether the temp files are compressed when streaming, can be overridden by compressTempFiles
+     */
+    public boolean isCompressTempFiles() {
+        return compressTempFiles;
+    }
+
+    /**
+     * 输出流的缓冲区大小，字节
+     * Buffer size of the output stream, in bytes
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
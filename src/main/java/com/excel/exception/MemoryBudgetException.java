@@ -0,0 +1,14 @@
+package com.excel.exception;
+
+/**
+ * 读写任务的估计内存超过预算而被拒绝
+ * A read or write job was rejected because its estimated memory exceeds the budget
+ *
+ * @author heng.lei
+ */
+public class MemoryBudgetException extends ExcelException {
+
+    public MemoryBudgetException(String message) {
+        super(message);
+    }
+}
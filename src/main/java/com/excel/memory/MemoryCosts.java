@@ -0,0 +1,98 @@
+package com.excel.memory;
+
+/**
+ * 读写任务的堆内存估计，常数按各模式下能完成任务的最小堆测得，偏保守
+ * Heap estimates of read and write jobs, the constants were measured as the smallest heap each mode completes in and
+ * lean to the safe side
+ *
+ * @author heng.lei
+ */
+public final class MemoryCosts {
+
+    /**
+     * 每个任务的固定开销：包结构、样式、缓冲区等
+     * Fixed overhead of every job: package structure, styles, buffers and the like
+     */
+    public static final long JOB_OVERHEAD = 8L << 20;
+
+    /**
+     * 内存中的XSSF workbook每个单元格的开销
+     * Cost of each cell of an in-memory XSSF workbook
+     */
+    public static final long WORKBOOK_CELL = 1280;
+
+    /**
+     * 流式写入时行窗口中每个单元格的开销
+     * Cost of each cell in the row window when streaming
+     */
+    public static final long WINDOW_CELL = 1024;
+
+    /**
+     * 从输入流打开xlsx时，解压后的包留在内存中，每个单元格的开销
+     * Cost of each cell when xlsx is opened from an input stream, the inflated package stays in memory
+     */
+    public static final long PACKAGE_CELL = 160;
+
+    /**
+     * 读成列表时每个实体类的开销
+     * Cost of each entity when reading into a list
+     */
+    public static final long ENTITY = 16;
+
+    /**
+     * 读成列表时实体类每个字段的开销
+     * Cost of each entity field when reading into a list
+     */
+    public static final long ENTITY_FIELD = 32;
+
+    private MemoryCosts() {
+    }
+
+    /**
+     * 写入xlsx的估计
+     * Estimate of writing xlsx
+     *
+     * @param rows                行数(rows)
+     * @param columns             列数(columns)
+     * @param streaming           是否流式写入(streaming or not)
+     * @param rowAccessWindowSize 流式写入的行窗口(row window when streaming)
+     * @return 字节数(bytes)
+     */
+    public static long write(long rows, int columns, boolean streaming, int rowAccessWindowSize) {
+        if (streaming) {
+            return JOB_OVERHEAD + Math.min(rows, rowAccessWindowSize) * columns * WINDOW_CELL;
+        }
+        return JOB_OVERHEAD + rows * columns * WORKBOOK_CELL;
+    }
+
+    /**
+     * 读取的估计，SAX逐行解析本身与行数无关
+     * Estimate of reading, parsing row by row with SAX does not depend on the number of rows by itself
+     *
+     * @param rows     行数(rows)
+     * @param columns  列数(columns)
+     * @param retained 实体类是否保留到读取结束(列表读取)(whether the entities are kept until the end, a list read)
+     * @param inMemory 输入是否整个留在内存中(whether the whole input stays in memory)
+     * @return 字节数(bytes)
+     */
+    public static long read(long rows, int columns, boolean retained, boolean inMemory) {
+        long cost = JOB_OVERHEAD;
+        if (inMemory) {
+            cost += rows * columns * PACKAGE_CELL;
+        }
+        if (retained) {
+            cost += rows * (ENTITY + columns * ENTITY_FIELD);
+        }
+        return cost;
+    }
+
+    /**
+     * 逐行写出的任务(CSV和追加写入)的估计，与行数无关
+     * Estimate of jobs that write rows out one by one (CSV and appends), independent of the number of rows
+     *
+     * @return 字节数(bytes)
+     */
+    public static long rowByRow() {
+        return JOB_OVERHEAD;
+    }
+}
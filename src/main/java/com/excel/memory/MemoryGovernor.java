@@ -0,0 +1,281 @@
+package com.excel.memory;
+
+import com.excel.exception.ExcelException;
+import com.excel.exception.MemoryBudgetException;
+import com.excel.utils.AssertUtils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 多个读写任务共享的堆内存预算，线程安全
+ * Heap budget shared by several read and write jobs, thread-safe
+ * <p>
+ * 每个任务开始前按行数、列数和模式估计内存(见 MemoryCosts)，预算内立即执行，否则按到达顺序排队等待，等待超过 maxWait
+ * 时被拒绝；估计超过整个预算的任务直接拒绝。内存中写入的估计超过 streamingThreshold 或行数未知时，自动改为流式写入。
+ * 负载高时任务排队变慢，而不是一起把堆用尽
+ * Before a job starts its memory is estimated from the rows, columns and mode (see MemoryCosts); within the budget it
+ * runs at once, otherwise it queues in arrival order and is rejected once it has waited longer than maxWait; jobs
+ * estimated above the whole budget are rejected right away. In-memory writes estimated above streamingThreshold, or
+ * with an unknown number of rows, are switched to streaming. Under load jobs queue and slow down instead of
+ * exhausting the heap together
+ *
+ * @author heng.lei
+ */
+public final class MemoryGovernor {
+
+    /**
+     * 读取时行数未知的默认估计
+     * Default estimate of a read with an unknown number of rows
+     */
+    public static final long DEFAULT_UNKNOWN_ROWS = 100_000;
+
+    private final long budget;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition released = lock.newCondition();
+
+    /**
+     * 排队中的任务，只有队首的任务可以被放行，大任务不会被不断到达的小任务饿死
+     * Queued jobs, only the head may be admitted so a large job is not starved by small ones that keep arriving
+     */
+    private final Deque<Object> waiting = new ArrayDeque<>();
+
+    private long reserved;
+
+    private int running;
+
+    private volatile long maxWaitNanos = Long.MAX_VALUE;
+
+    private volatile long streamingThreshold;
+
+    private volatile long unknownRows = DEFAULT_UNKNOWN_ROWS;
+
+    /**
+     * @param budget 堆内存预算，字节(heap budget, in bytes)
+     */
+    public MemoryGovernor(long budget) {
+        AssertUtils.isTrue(budget > 0, "budget must be greater than 0");
+        this.budget = budget;
+        this.streamingThreshold = budget / 8;
+    }
+
+    /**
+     * 以最大堆的一部分作为预算
+     * Use a fraction of the maximum heap as the budget
+     *
+     * @param fraction 最大堆的比例，0到1之间(fraction of the maximum heap, between 0 and 1)
+     * @return MemoryGovernor
+     */
+    public static MemoryGovernor ofMaxHeap(double fraction) {
+        AssertUtils.isTrue(fraction > 0 && fraction <= 1, "fraction must be between 0 and 1");
+        return new MemoryGovernor((long) (Runtime.getRuntime().maxMemory() * fraction));
+    }
+
+    /**
+     * 超出预算时最多排队等待的时间，0表示不等待直接拒绝；默认一直等待
+     * Longest time a job queues when the budget is exhausted, 0 rejects at once without waiting; waits forever by
+     * default
+     *
+     * @param timeout 时长(timeout)
+     * @param unit    单位(unit)
+     * @return MemoryGovernor
+     */
+    public MemoryGovernor maxWait(long timeout, TimeUnit unit) {
+        AssertUtils.isTrue(timeout >= 0, "timeout must not be negative");
+        this.maxWaitNanos = unit.toNanos(timeout);
+        return this;
+    }
+
+    /**
+     * 内存中写入的估计超过该字节数时改为流式写入，默认为预算的八分之一
+     * In-memory writes estimated above this many bytes are switched to streaming, an eighth of the budget by default
+     *
+     * @param streamingThreshold 字节数(bytes)
+     * @return MemoryGovernor
+     */
+    public MemoryGovernor streamingThreshold(long streamingThreshold) {
+        AssertUtils.isTrue(streamingThreshold >= 0, "streamingThreshold must not be negative");
+        this.streamingThreshold = streamingThreshold;
+        return this;
+    }
+
+    /**
+     * 读取时行数未知(没有指定 expectedRows)的估计行数，默认10万
+     * Estimated rows of a read whose number of rows is unknown (no expectedRows given), 100000 by default
+     *
+     * @param unknownRows 行数(rows)
+     * @return MemoryGovernor
+     */
+    public MemoryGovernor unknownRows(long unknownRows) {
+        AssertUtils.isTrue(unknownRows >= 0, "unknownRows must not be negative");
+        this.unknownRows = unknownRows;
+        return this;
+    }
+
+    /**
+     * 内存中写入是否应改为流式写入
+     * Whether an in-memory write should be switched to streaming
+     *
+     * @param inMemoryCost 内存中写入的估计，行数未知时为负数(estimate of the in-memory write, negative when the rows are
+     *                     unknown)
+     * @return 是否改为流式写入(switch to streaming or not)
+     */
+    public boolean shouldStream(long inMemoryCost) {
+        return inMemoryCost < 0 || inMemoryCost > streamingThreshold;
+    }
+
+    /**
+     * 申请内存，预算不足时排队等待
+     * Acquire memory, queueing while the budget is exhausted
+     *
+     * @param bytes 估计的字节数(estimated bytes)
+     * @return 许可，任务结束时关闭以归还内存(permit, close it when the job ends to give the memory back)
+     * @throws MemoryBudgetException 估计超过整个预算或等待超时(the estimate exceeds the whole budget or the wait timed
+     *                               out)
+     */
+    public Permit acquire(long bytes) {
+        if (bytes > budget) {
+            throw new MemoryBudgetException("job needs about " + mb(bytes) + " MB, more than the whole budget of "
+                    + mb(budget) + " MB");
+        }
+        Object ticket = new Object();
+        lock.lock();
+        try {
+            waiting.add(ticket);
+            long remaining = maxWaitNanos;
+            while (waiting.peek() != ticket || reserved + bytes > budget) {
+                if (remaining <= 0) {
+                    waiting.remove(ticket);
+                    released.signalAll();
+                    throw new MemoryBudgetException("job needs about " + mb(bytes) + " MB, " + mb(budget - reserved)
+                            + " MB of the budget is free and " + waiting.size() + " jobs are waiting");
+                }
+                remaining = remaining == Long.MAX_VALUE ? awaitForever() : released.awaitNanos(remaining);
+            }
+            waiting.poll();
+            reserved += bytes;
+            running++;
+            // the next job may fit into what is left
+            released.signalAll();
+            return new Permit(bytes);
+        } catch (InterruptedException e) {
+            waiting.remove(ticket);
+            released.signalAll();
+            Thread.currentThread().interrupt();
+            throw new ExcelException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long awaitForever() throws InterruptedException {
+        released.await();
+        return Long.MAX_VALUE;
+    }
+
+    private void release(long bytes) {
+        lock.lock();
+        try {
+            reserved -= bytes;
+            running--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long mb(long bytes) {
+        return bytes >> 20;
+    }
+
+    /**
+     * 预算，字节
+     * Budget, in bytes
+     */
+    public long getBudget() {
+        return budget;
+    }
+
+    /**
+     * 已分配给运行中任务的字节数
+     * Bytes reserved by running jobs
+     */
+    public long getReserved() {
+        lock.lock();
+        try {
+            return reserved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 运行中的任务数
+     * Number of running jobs
+     */
+    public int getRunning() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 排队中的任务数
+     * Number of queued jobs
+     */
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 读取时行数未知的估计行数
+     * Estimated rows of a read with an unknown number of rows
+     */
+    public long getUnknownRows() {
+        return unknownRows;
+    }
+
+    /**
+     * 一个任务占用的内存，关闭时归还，重复关闭无效
+     * Memory held by one job, given back on close, closing again has no effect
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final long bytes;
+
+        private boolean closed;
+
+        private Permit(long bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * 占用的字节数
+         * Bytes held
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(bytes);
+            }
+        }
+    }
+}
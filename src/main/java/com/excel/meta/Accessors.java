@@ -0,0 +1,531 @@
+package com.excel.meta;
+
+import com.excel.exception.ExcelException;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 生成字段读写器和构造器
+ * Generate field accessors and constructors
+ * <p>
+ * 默认通过字段的 MethodHandle 直接读写字段，与反射的语义相同；失败时退回到反射。只有显式要求时才通过 LambdaMetafactory
+ * 绑定public的getter/setter，速度接近直接调用，但getter/setter中的逻辑会在每次读写时执行
+ * Fields are read and written directly through field MethodHandles by default, with the same semantics as reflection;
+ * reflection is the fallback. Only on explicit request are public getters/setters bound through LambdaMetafactory,
+ * which runs close to a direct call but runs any logic in them on every read and write
+ *
+ * @author heng.lei
+ */
+public final class Accessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private Accessors() {
+    }
+
+    /**
+     * 获取直接读写字段的读写器
+     * Get an accessor that reads and writes the field directly
+     *
+     * @param field 字段(field)
+     * @return FieldAccessor
+     */
+    public static FieldAccessor of(Field field) {
+        return of(field, false);
+    }
+
+    /**
+     * 获取字段读写器
+     * Get the accessor of a field
+     *
+     * @param field        字段(field)
+     * @param getterSetter 是否通过public的getter/setter读写，两者都存在时才生效(read and write through the public
+     *                     getter/setter, only when both exist)
+     * @return FieldAccessor
+     */
+    public static FieldAccessor of(Field field, boolean getterSetter) {
+        field.setAccessible(true);
+        if (getterSetter) {
+            try {
+                Method getter = findGetter(field);
+                Method setter = findSetter(field);
+                if (getter != null && setter != null) {
+                    return new LambdaAccessor(field.getType(), getter, setter);
+                }
+            } catch (Throwable ignored) {
+                // fall through to the method handle accessor
+            }
+        }
+        try {
+            return new HandleAccessor(field);
+        } catch (Throwable ignored) {
+            return new ReflectAccessor(field);
+        }
+    }
+
+    /**
+     * 获取无参构造器
+     * Get the no-arg constructor
+     *
+     * @param clazz 实体类class
+     * @param <T>   object type
+     * @return Supplier
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Supplier<T> constructor(Class<T> clazz) {
+        Constructor<T> constructor;
+        try {
+            constructor = clazz.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new ExcelException(clazz.getName() + " has no no-arg constructor");
+        }
+        try {
+            if (Modifier.isPublic(clazz.getModifiers()) && Modifier.isPublic(constructor.getModifiers()) && isVisible(clazz)) {
+                MethodHandle target = LOOKUP.unreflectConstructor(constructor);
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "get", MethodType.methodType(Supplier.class),
+                        MethodType.methodType(Object.class), target, MethodType.methodType(clazz));
+                return (Supplier<T>) site.getTarget().invokeExact();
+            }
+        } catch (Throwable ignored) {
+            // fall through to the method handle constructor
+        }
+        try {
+            constructor.setAccessible(true);
+            MethodHandle handle = LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+            return () -> {
+                try {
+                    return (T) handle.invokeExact();
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        } catch (Throwable ignored) {
+            return () -> {
+                try {
+                    return constructor.newInstance();
+                } catch (ReflectiveOperationException e) {
+                    throw new ExcelException(e);
+                }
+            };
+        }
+    }
+
+    private static Method findGetter(Field field) {
+        String name = capitalize(field.getName());
+        Class<?> clazz = field.getDeclaringClass();
+        Method method = findMethod(clazz, "get" + name);
+        if (method == null && field.getType() == boolean.class) {
+            method = findMethod(clazz, "is" + name);
+        }
+        return method != null && method.getReturnType() == field.getType() ? method : null;
+    }
+
+    private static Method findSetter(Field field) {
+        return findMethod(field.getDeclaringClass(), "set" + capitalize(field.getName()), field.getType());
+    }
+
+    private static Method findMethod(Class<?> clazz, String name, Class<?>... parameterTypes) {
+        if (!Modifier.isPublic(clazz.getModifiers()) || !isVisible(clazz)) {
+            return null;
+        }
+        try {
+            Method method = clazz.getMethod(name, parameterTypes);
+            return Modifier.isStatic(method.getModifiers()) ? null : method;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new ExcelException((Exception) e);
+    }
+
+    /**
+     * 实体类必须能从本库的类加载器中看到，否则生成的lambda无法链接
+     * The entity class must be visible from the class loader of this library, otherwise the generated lambda cannot link
+     */
+    private static boolean isVisible(Class<?> clazz) {
+        try {
+            return Class.forName(clazz.getName(), false, Accessors.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <F> F bind(Class<F> functionType, String name, MethodType samType, Method method, MethodType instantiatedType)
+            throws Throwable {
+        CallSite site = LambdaMetafactory.metafactory(LOOKUP, name, MethodType.methodType(functionType),
+                samType, LOOKUP.unreflect(method), instantiatedType);
+        return (F) site.getTarget().invoke();
+    }
+
+    /**
+     * LambdaMetafactory 生成的读写器
+     * Accessor generated by LambdaMetafactory
+     */
+    @SuppressWarnings("unchecked")
+    private static final class LambdaAccessor extends FieldAccessor {
+
+        private final Function<Object, Object> getter;
+
+        private final BiConsumer<Object, Object> setter;
+
+        private ToIntFunction<Object> intGetter;
+
+        private ObjIntConsumer<Object> intSetter;
+
+        private ToLongFunction<Object> longGetter;
+
+        private ObjLongConsumer<Object> longSetter;
+
+        private ToDoubleFunction<Object> doubleGetter;
+
+        private ObjDoubleConsumer<Object> doubleSetter;
+
+        private Predicate<Object> booleanGetter;
+
+        LambdaAccessor(Class<?> type, Method getter, Method setter) throws Throwable {
+            Class<?> bean = getter.getDeclaringClass();
+            this.getter = bind(Function.class, "apply", MethodType.methodType(Object.class, Object.class),
+                    getter, MethodType.methodType(wrap(type), bean));
+            this.setter = bind(BiConsumer.class, "accept", MethodType.methodType(void.class, Object.class, Object.class),
+                    setter, MethodType.methodType(void.class, setter.getDeclaringClass(), wrap(type)));
+            if (type == int.class) {
+                intGetter = bind(ToIntFunction.class, "applyAsInt", MethodType.methodType(int.class, Object.class),
+                        getter, MethodType.methodType(int.class, bean));
+                intSetter = bind(ObjIntConsumer.class, "accept", MethodType.methodType(void.class, Object.class, int.class),
+                        setter, MethodType.methodType(void.class, setter.getDeclaringClass(), int.class));
+            } else if (type == long.class) {
+                longGetter = bind(ToLongFunction.class, "applyAsLong", MethodType.methodType(long.class, Object.class),
+                        getter, MethodType.methodType(long.class, bean));
+                longSetter = bind(ObjLongConsumer.class, "accept", MethodType.methodType(void.class, Object.class, long.class),
+                        setter, MethodType.methodType(void.class, setter.getDeclaringClass(), long.class));
+            } else if (type == double.class) {
+                doubleGetter = bind(ToDoubleFunction.class, "applyAsDouble", MethodType.methodType(double.class, Object.class),
+                        getter, MethodType.methodType(double.class, bean));
+                doubleSetter = bind(ObjDoubleConsumer.class, "accept", MethodType.methodType(void.class, Object.class, double.class),
+                        setter, MethodType.methodType(void.class, setter.getDeclaringClass(), double.class));
+            } else if (type == boolean.class) {
+                booleanGetter = bind(Predicate.class, "test", MethodType.methodType(boolean.class, Object.class),
+                        getter, MethodType.methodType(boolean.class, bean));
+            }
+        }
+
+        @Override
+        public Object get(Object bean) {
+            return getter.apply(bean);
+        }
+
+        @Override
+        public void set(Object bean, Object value) {
+            setter.accept(bean, value);
+        }
+
+        @Override
+        public int getInt(Object bean) {
+            return intGetter != null ? intGetter.applyAsInt(bean) : super.getInt(bean);
+        }
+
+        @Override
+        public void setInt(Object bean, int value) {
+            if (intSetter != null) {
+                intSetter.accept(bean, value);
+            } else {
+                super.setInt(bean, value);
+            }
+        }
+
+        @Override
+        public long getLong(Object bean) {
+            return longGetter != null ? longGetter.applyAsLong(bean) : super.getLong(bean);
+        }
+
+        @Override
+        public void setLong(Object bean, long value) {
+            if (longSetter != null) {
+                longSetter.accept(bean, value);
+            } else {
+                super.setLong(bean, value);
+            }
+        }
+
+        @Override
+        public double getDouble(Object bean) {
+            return doubleGetter != null ? doubleGetter.applyAsDouble(bean) : super.getDouble(bean);
+        }
+
+        @Override
+        public void setDouble(Object bean, double value) {
+            if (doubleSetter != null) {
+                doubleSetter.accept(bean, value);
+            } else {
+                super.setDouble(bean, value);
+            }
+        }
+
+        @Override
+        public boolean getBoolean(Object bean) {
+            return booleanGetter != null ? booleanGetter.test(bean) : super.getBoolean(bean);
+        }
+    }
+
+    /**
+     * MethodHandle 读写器，基本类型使用精确类型的句柄，不装箱
+     * MethodHandle accessor, primitive fields use exactly typed handles and are never boxed
+     */
+    private static final class HandleAccessor extends FieldAccessor {
+
+        private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+        private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+        private final MethodHandle getter;
+
+        private final MethodHandle setter;
+
+        private final MethodHandle primitiveGetter;
+
+        private final MethodHandle primitiveSetter;
+
+        HandleAccessor(Field field) throws IllegalAccessException {
+            MethodHandle rawGetter = LOOKUP.unreflectGetter(field);
+            MethodHandle rawSetter = LOOKUP.unreflectSetter(field);
+            this.getter = rawGetter.asType(GETTER);
+            this.setter = rawSetter.asType(SETTER);
+            Class<?> type = field.getType();
+            if (type.isPrimitive()) {
+                this.primitiveGetter = rawGetter.asType(MethodType.methodType(type, Object.class));
+                this.primitiveSetter = rawSetter.asType(MethodType.methodType(void.class, Object.class, type));
+            } else {
+                this.primitiveGetter = null;
+                this.primitiveSetter = null;
+            }
+        }
+
+        @Override
+        public Object get(Object bean) {
+            try {
+                return getter.invokeExact(bean);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public void set(Object bean, Object value) {
+            try {
+                setter.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public int getInt(Object bean) {
+            try {
+                return (int) primitiveGetter.invokeExact(bean);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public void setInt(Object bean, int value) {
+            try {
+                primitiveSetter.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public long getLong(Object bean) {
+            try {
+                return (long) primitiveGetter.invokeExact(bean);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public void setLong(Object bean, long value) {
+            try {
+                primitiveSetter.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public double getDouble(Object bean) {
+            try {
+                return (double) primitiveGetter.invokeExact(bean);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public void setDouble(Object bean, double value) {
+            try {
+                primitiveSetter.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public boolean getBoolean(Object bean) {
+            try {
+                return (boolean) primitiveGetter.invokeExact(bean);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public void setBoolean(Object bean, boolean value) {
+            try {
+                primitiveSetter.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+    }
+
+    /**
+     * 反射读写器
+     * Reflection accessor
+     */
+    private static final class ReflectAccessor extends FieldAccessor {
+
+        private final Field field;
+
+        ReflectAccessor(Field field) {
+            this.field = field;
+        }
+
+        @Override
+        public Object get(Object bean) {
+            try {
+                return field.get(bean);
+            } catch (IllegalAccessException e) {
+                throw new ExcelException(e);
+            }
+        }
+
+        @Override
+        public void set(Object bean, Object value) {
+            try {
+                field.set(bean, value);
+            } catch (IllegalAccessException e) {
+                throw new ExcelException(e);
+            }
+        }
+
+        @Override
+        public int getInt(Object bean) {
+            try {
+                return field.getInt(bean);
+            } catch (IllegalAccessException e) {
+                throw new ExcelException(e);
+            }
+        }
+
+        @Override
+        public void setInt(Object bean, int value) {
+            try {
+                field.setInt(bean, value);
+            } catch (IllegalAccessException e) {
+                throw new ExcelException(e);
+            }
+        }
+
+        @Override
+        public long getLong(Object bean) {
+            try {
+                return field.getLong(bean);
+            } catch (IllegalAccessException e) {
+                throw new ExcelException(e);
+            }
+        }
+
+        @Override
+        public void setLong(Object bean, long value) {
+            try {
+                field.setLong(bean, value);
+            } catch (IllegalAccessException e) {
+                throw new ExcelException(e);
+            }
+        }
+
+        @Override
+        public double getDouble(Object bean) {
+            try {
+                return field.getDouble(bean);
+            } catch (IllegalAccessException e) {
+                throw new ExcelException(e);
+            }
+        }
+
+        @Override
+        public void setDouble(Object bean, double value) {
+            try {
+                field.setDouble(bean, value);
+            } catch (IllegalAccessException e) {
+                throw new ExcelException(e);
+            }
+        }
+
+        @Override
+        public boolean getBoolean(Object bean) {
+            try {
+                return field.getBoolean(bean);
+            } catch (IllegalAccessException e) {
+                throw new ExcelException(e);
+            }
+        }
+
+        @Override
+        public void setBoolean(Object bean, boolean value) {
+            try {
+                field.setBoolean(bean, value);
+            } catch (IllegalAccessException e) {
+                throw new ExcelException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.excel.meta;
+
+import com.excel.anno.ExcelAnno;
+import com.excel.enums.StringStrategy;
+import com.excel.utils.AssertUtils;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.IndexedColors;
+
+/**
+ * 列的表头信息，与 ExcelAnno 一一对应，不可变
+ * Header metadata of a column, mirrors ExcelAnno, immutable
+ *
+ * @author heng.lei
+ */
+public final class ExcelColumn {
+
+    private final String value;
+
+    private final int column;
+
+    private final String format;
+
+    private final short height;
+
+    private final int width;
+
+    private final IndexedColors backgroundColor;
+
+    private final FillPatternType fillPatternType;
+
+    private final boolean alignment;
+
+    private final boolean verticalAlignment;
+
+    private final boolean bold;
+
+    private final StringStrategy stringStrategy;
+
+    ExcelColumn(ExcelAnno annotation) {
+        this.value = annotation.value();
+        this.column = annotation.column();
+        this.format = annotation.format();
+        this.height = annotation.height();
+        this.width = annotation.width();
+        this.backgroundColor = annotation.backgroundColor();
+        this.fillPatternType = annotation.fillPatternType();
+        this.alignment = annotation.isAlignment();
+        this.verticalAlignment = annotation.isVerticalAlignment();
+        this.bold = annotation.isBold();
+        this.stringStrategy = annotation.stringStrategy();
+    }
+
+    private ExcelColumn(Builder builder) {
+        this.value = builder.value;
+        this.column = builder.column;
+        this.format = builder.format;
+        this.height = builder.height;
+        this.width = builder.width;
+        this.backgroundColor = builder.backgroundColor;
+        this.fillPatternType = builder.fillPatternType;
+        this.alignment = builder.alignment;
+        this.verticalAlignment = builder.verticalAlignment;
+        this.bold = builder.bold;
+        this.stringStrategy = builder.stringStrategy;
+    }
+
+    /**
+     * 不通过注解创建表头信息，未设置的属性与 ExcelAnno 的默认值相同
+     * Create header metadata without an annotation, unset attributes take the defaults of ExcelAnno
+     *
+     * @param value 列名称(column name)
+     * @return Builder
+     */
+    public static Builder builder(String value) {
+        return new Builder(value);
+    }
+
+    /**
+     * 列名称
+     * column name
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * -1代表不通过列匹配
+     * -1 means no column matching
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public short getHeight() {
+        return height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public IndexedColors getBackgroundColor() {
+        return backgroundColor;
+    }
+
+    public FillPatternType getFillPatternType() {
+        return fillPatternType;
+    }
+
+    public boolean isAlignment() {
+        return alignment;
+    }
+
+    public boolean isVerticalAlignment() {
+        return verticalAlignment;
+    }
+
+    public boolean isBold() {
+        return bold;
+    }
+
+    public StringStrategy getStringStrategy() {
+        return stringStrategy;
+    }
+
+    /**
+     * ExcelColumn 的构建器，每个方法对应 ExcelAnno 的同名属性
+     * Builder of ExcelColumn, each method matches the ExcelAnno attribute of the same name
+     */
+    public static final class Builder {
+
+        private final String value;
+
+        private int column = -1;
+
+        private String format = "";
+
+        private short height = -1;
+
+        private int width = -1;
+
+        private IndexedColors backgroundColor = IndexedColors.WHITE;
+
+        private FillPatternType fillPatternType = FillPatternType.SOLID_FOREGROUND;
+
+        private boolean alignment;
+
+        private boolean verticalAlignment;
+
+        private boolean bold;
+
+        private StringStrategy stringStrategy = StringStrategy.DEFAULT;
+
+        private Builder(String value) {
+            AssertUtils.isTrue(value != null, "value must not be null");
+            this.value = value;
+        }
+
+        public Builder column(int column) {
+            this.column = column;
+            return this;
+        }
+
+        public Builder format(String format) {
+            AssertUtils.isTrue(format != null, "format must not be null");
+            this.format = format;
+            return this;
+        }
+
+        public Builder height(short height) {
+            this.height = height;
+            return this;
+        }
+
+        public Builder width(int width) {
+            this.width = width;
+            return this;
+        }
+
+        public Builder backgroundColor(IndexedColors backgroundColor) {
+            this.backgroundColor = backgroundColor;
+            return this;
+        }
+
+        public Builder fillPatternType(FillPatternType fillPatternType) {
+            this.fillPatternType = fillPatternType;
+            return this;
+        }
+
+        public Builder alignment(boolean alignment) {
+            this.alignment = alignment;
+            return this;
+        }
+
+        public Builder verticalAlignment(boolean verticalAlignment) {
+            this.verticalAlignment = verticalAlignment;
+            return this;
+        }
+
+        public Builder bold(boolean bold) {
+            this.bold = bold;
+            return this;
+        }
+
+        public Builder stringStrategy(StringStrategy stringStrategy) {
+            AssertUtils.isTrue(stringStrategy != null, "stringStrategy must not be null");
+            this.stringStrategy = stringStrategy;
+            return this;
+        }
+
+        public ExcelColumn build() {
+            return new ExcelColumn(this);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.excel.meta;
+
+import com.excel.anno.ExcelAnno;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 实体类的映射计划，每个class只解析一次并缓存
+ * Mapping plan of an entity class, parsed once per class and cached
+ * <p>
+ * 缓存基于 ClassValue，映射保存在class自身上，不会阻止class被卸载
+ * The cache is a ClassValue, the plan lives on the class itself and never keeps the class loaded
+ *
+ * @author heng.lei
+ */
+public final class ExcelMapping {
+
+    private static final ClassValue<ExcelMapping> CACHE = new ClassValue<ExcelMapping>() {
+        @Override
+        protected ExcelMapping computeValue(Class<?> type) {
+            return new ExcelMapping(type);
+        }
+    };
+
+    private final Class<?> type;
+
+    private final int fieldCount;
+
+    private final FieldMapping[] fields;
+
+    private volatile Supplier<?> constructor;
+
+    private ExcelMapping(Class<?> clazz) {
+        this.type = clazz;
+        Field[] declaredFields = clazz.getDeclaredFields();
+        List<FieldMapping> list = new ArrayList<>();
+        for (int i = 0; i < declaredFields.length; i++) {
+            ExcelAnno annotation = declaredFields[i].getAnnotation(ExcelAnno.class);
+            if (annotation != null) {
+                list.add(new FieldMapping(declaredFields[i], i, annotation));
+            }
+        }
+        this.fieldCount = declaredFields.length;
+        this.fields = list.toArray(new FieldMapping[0]);
+    }
+
+    /**
+     * 获取实体类的映射计划
+     * Get the mapping plan of an entity class
+     *
+     * @param clazz 实体类class
+     * @return ExcelMapping
+     */
+    public static ExcelMapping of(Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    /**
+     * 声明的字段数，包括没有注解的字段
+     * Number of declared fields, including fields without annotation
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * 带有 ExcelAnno 注解的字段
+     * Fields annotated with ExcelAnno
+     */
+    public FieldMapping[] getFields() {
+        return fields.clone();
+    }
+
+    /**
+     * 创建实体类实例，构造器在第一次使用时生成
+     * Create an instance of the entity class, the constructor is generated on first use
+     *
+     * @param <R> object type
+     * @return object
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R newInstance() {
+        Supplier<?> supplier = constructor;
+        if (supplier == null) {
+            supplier = Accessors.constructor(type);
+            constructor = supplier;
+        }
+        return (R) supplier.get();
+    }
+
+    /**
+     * 根据表头解析每个字段读取的列号，-1 表示表头中没有该列
+     * Resolve the column read by each field from the header, -1 means the header has no such column
+     *
+     * @param header 表头名称到列号(header name to column index)
+     * @return 与 getFields() 对应的列号(column indexes in the order of getFields())
+     */
+    public int[] resolveColumns(Map<String, Integer> header) {
+        int[] columns = new int[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            int column = fields[i].getColumn().getColumn();
+            if (column < 0) {
+                Integer index = header.get(fields[i].getColumn().getValue());
+                column = index == null ? -1 : index;
+            }
+            columns[i] = column;
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,46 @@
+package com.excel.meta;
+
+/**
+ * 字段读写器，基本类型字段可以通过 getInt/setInt 等方法避免装箱
+ * Field accessor, primitive fields can avoid boxing through getInt/setInt and friends
+ *
+ * @author heng.lei
+ */
+public abstract class FieldAccessor {
+
+    public abstract Object get(Object bean);
+
+    public abstract void set(Object bean, Object value);
+
+    public int getInt(Object bean) {
+        return (Integer) get(bean);
+    }
+
+    public void setInt(Object bean, int value) {
+        set(bean, value);
+    }
+
+    public long getLong(Object bean) {
+        return (Long) get(bean);
+    }
+
+    public void setLong(Object bean, long value) {
+        set(bean, value);
+    }
+
+    public double getDouble(Object bean) {
+        return (Double) get(bean);
+    }
+
+    public void setDouble(Object bean, double value) {
+        set(bean, value);
+    }
+
+    public boolean getBoolean(Object bean) {
+        return (Boolean) get(bean);
+    }
+
+    public void setBoolean(Object bean, boolean value) {
+        set(bean, value);
+    }
+}
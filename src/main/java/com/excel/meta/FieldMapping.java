@@ -0,0 +1,166 @@
+package com.excel.meta;
+
+import com.excel.anno.ExcelAnno;
+import com.excel.codec.Codec;
+import com.excel.codec.Codecs;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.lang.reflect.Field;
+
+/**
+ * 实体类字段与excel列的映射，不可变
+ * Mapping between an entity field and an Excel column, immutable
+ *
+ * @author heng.lei
+ */
+public final class FieldMapping {
+
+    private final FieldAccessor accessor;
+
+    private final int fieldIndex;
+
+    private final ExcelColumn column;
+
+    private final Codec codec;
+
+    private final String format;
+
+    FieldMapping(Field field, int fieldIndex, ExcelAnno annotation) {
+        this.accessor = Accessors.of(field, annotation.useGetterSetter());
+        this.fieldIndex = fieldIndex;
+        this.column = new ExcelColumn(annotation);
+        this.codec = Codecs.get(field.getType());
+        this.format = annotation.format().isEmpty() ? codec.defaultFormat() : annotation.format();
+    }
+
+    private FieldMapping(FieldAccessor accessor, int fieldIndex, ExcelColumn column, Codec codec) {
+        this.accessor = accessor;
+        this.fieldIndex = fieldIndex;
+        this.column = column;
+        this.codec = codec;
+        this.format = column.getFormat().isEmpty() ? codec.defaultFormat() : column.getFormat();
+    }
+
+    /**
+     * 不通过实体类字段创建映射，用于没有实体类的读写(如列式写入)
+     * Create a mapping without an entity field, used by reads and writes without entities (such as columnar writes)
+     *
+     * @param accessor   字段访问器(accessor)
+     * @param fieldIndex 未指定列时写入的列号(column written when no column is given)
+     * @param column     表头信息(header metadata)
+     * @param codec      转换器(codec)
+     * @return FieldMapping
+     */
+    public static FieldMapping of(FieldAccessor accessor, int fieldIndex, ExcelColumn column, Codec codec) {
+        return new FieldMapping(accessor, fieldIndex, column, codec);
+    }
+
+    /**
+     * 字段在 getDeclaredFields() 中的下标，未指定列时作为写入的列号
+     * Index of the field in getDeclaredFields(), used as the written column when no column is given
+     */
+    public int getFieldIndex() {
+        return fieldIndex;
+    }
+
+    /**
+     * 写入时的列号
+     * Column index used when writing
+     */
+    public int getWriteColumn() {
+        return column.getColumn() >= 0 ? column.getColumn() : fieldIndex;
+    }
+
+    public ExcelColumn getColumn() {
+        return column;
+    }
+
+    public Codec getCodec() {
+        return codec;
+    }
+
+    /**
+     * 生效的格式，ExcelAnno.format 为空时为转换器的默认格式
+     * Effective format, the default format of the codec when ExcelAnno.format is empty
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    public FieldAccessor getAccessor() {
+        return accessor;
+    }
+
+    /**
+     * 读取字段并转成文本
+     * Read the field and convert it to text
+     */
+    public String write(Object bean) {
+        return codec.write(bean, accessor, format);
+    }
+
+    /**
+     * 文本转换后写入字段
+     * Convert text and set it on the field
+     */
+    public void read(Object bean, String value) {
+        codec.read(bean, accessor, value, format);
+    }
+
+    /**
+     * 读取字段并写入单元格
+     * Read the field and write it into a cell
+     */
+    public void writeCell(Cell cell, Object bean) {
+        codec.writeCell(cell, bean, accessor, format);
+    }
+
+    /**
+     * 单元格按原生类型转换后写入字段
+     * Convert a cell by its native type and set it on the field
+     */
+    public void read(Object bean, Cell cell) {
+        if (cell == null) {
+            read(bean, (String) null);
+            return;
+        }
+        CellType type = cell.getCellType() == CellType.FORMULA ? cell.getCachedFormulaResultType() : cell.getCellType();
+        switch (type) {
+            case NUMERIC:
+                codec.readNumeric(bean, accessor, cell.getNumericCellValue(), format);
+                break;
+            case BOOLEAN:
+                codec.readBoolean(bean, accessor, cell.getBooleanCellValue(), format);
+                break;
+            case STRING:
+                read(bean, cell.getStringCellValue());
+                break;
+            default:
+                read(bean, cell.toString());
+                break;
+        }
+    }
+
+    /**
+     * sheet xml中的原始值按类型转换后写入字段
+     * Convert a raw value of the sheet xml by its type and set it on the field
+     */
+    public void read(Object bean, CellType type, String value) {
+        if (value == null) {
+            read(bean, (String) null);
+            return;
+        }
+        switch (type) {
+            case NUMERIC:
+                codec.readNumeric(bean, accessor, Double.parseDouble(value), format);
+                break;
+            case BOOLEAN:
+                codec.readBoolean(bean, accessor, "1".equals(value), format);
+                break;
+            default:
+                read(bean, value);
+                break;
+        }
+    }
+}
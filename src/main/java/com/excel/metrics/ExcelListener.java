@@ -0,0 +1,38 @@
+package com.excel.metrics;
+
+/**
+ * 读写过程的监听器，用于接入自己的指标系统；所有方法都在执行读写的线程中调用，默认什么都不做
+ * Listener of reads and writes, used to plug in one's own metrics system; every method is called on the thread doing
+ * the read or write, and does nothing by default
+ *
+ * @author heng.lei
+ */
+public interface ExcelListener {
+
+    /**
+     * 什么都不做的监听器，不会产生计时和计数的开销
+     * Listener that does nothing, no timing or counting overhead is spent on it
+     */
+    ExcelListener NOOP = new ExcelListener() {
+    };
+
+    /**
+     * 一个阶段结束
+     * A phase ends
+     *
+     * @param operation 读或写(read or write)
+     * @param phase     阶段(phase)
+     * @param nanos     耗时，纳秒(duration in nanoseconds)
+     */
+    default void onPhase(Operation operation, Phase phase, long nanos) {
+    }
+
+    /**
+     * 一次读写结束，失败或被 MemoryGovernor 拒绝时也会回调
+     * A read or write ends, also called back when it fails or is rejected by the MemoryGovernor
+     *
+     * @param metrics 本次读写的指标(metrics of the read or write)
+     */
+    default void onComplete(ExcelMetrics metrics) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.excel.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一次读写的指标
+ * Metrics of one read or write
+ *
+ * @author heng.lei
+ */
+public final class ExcelMetrics {
+
+    private final Operation operation;
+
+    private final Class<?> dataClass;
+
+    private final long[] phaseNanos;
+
+    private final long totalNanos;
+
+    private final long rows;
+
+    private final long bytes;
+
+    private final Throwable error;
+
+    ExcelMetrics(Operation operation, Class<?> dataClass, long[] phaseNanos, long totalNanos, long rows, long bytes,
+                 Throwable error) {
+        this.operation = operation;
+        this.dataClass = dataClass;
+        this.phaseNanos = phaseNanos;
+        this.totalNanos = totalNanos;
+        this.rows = rows;
+        this.bytes = bytes;
+        this.error = error;
+    }
+
+    /**
+     * 读或写
+     * Read or write
+     */
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * 实体类
+     * Entity class
+     */
+    public Class<?> getDataClass() {
+        return dataClass;
+    }
+
+    /**
+     * 某个阶段的耗时，纳秒；没有经过的阶段为0
+     * Duration of a phase in nanoseconds, 0 for phases that did not happen
+     *
+     * @param phase 阶段(phase)
+     * @return 耗时(duration)
+     */
+    public long getNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * 总耗时，纳秒
+     * Total duration in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * 读取或写入的数据行数(不含表头)
+     * Number of data rows read or written (header excluded)
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * 读取或写入的字节数；读取本地文件时为文件大小
+     * Number of bytes read or written; the file size when reading a local file
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * 每秒的数据行数，按总耗时计算
+     * Data rows per second, based on the total duration
+     */
+    public double getRowsPerSecond() {
+        return totalNanos == 0 ? 0 : rows * (double) TimeUnit.SECONDS.toNanos(1) / totalNanos;
+    }
+
+    /**
+     * 失败的原因，成功时为null
+     * Cause of the failure, null on success
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * 是否失败
+     * Whether it failed
+     */
+    public boolean isFailed() {
+        return error != null;
+    }
+}
@@ -0,0 +1,227 @@
+package com.excel.metrics;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 记录一次读写的各阶段耗时、行数和字节数，结束时交给监听器；阶段按顺序依次记录，每个阶段从上一个阶段结束时开始计时
+ * Records the phase durations, rows and bytes of one read or write and hands them to the listener at the end; phases
+ * are recorded one after another, each one is timed from the end of the previous one
+ * <p>
+ * 监听器为 ExcelListener.NOOP 时什么都不记录，流也不会被包装
+ * Nothing is recorded and no stream is wrapped when the listener is ExcelListener.NOOP
+ *
+ * @author heng.lei
+ */
+public final class MetricsRecorder {
+
+    private final ExcelListener listener;
+
+    private final Operation operation;
+
+    private final Class<?> dataClass;
+
+    private final boolean enabled;
+
+    private final long[] phaseNanos = new long[Phase.values().length];
+
+    private final long start;
+
+    private long mark;
+
+    private long rows;
+
+    private long bytes;
+
+    private Throwable error;
+
+    /**
+     * 创建时开始计时
+     * Timing starts on creation
+     *
+     * @param listener  监听器(listener)
+     * @param operation 读或写(read or write)
+     * @param dataClass 实体类(entity class)
+     */
+    public MetricsRecorder(ExcelListener listener, Operation operation, Class<?> dataClass) {
+        this.listener = listener;
+        this.operation = operation;
+        this.dataClass = dataClass;
+        this.enabled = listener != null && listener != ExcelListener.NOOP;
+        this.start = enabled ? System.nanoTime() : 0;
+        this.mark = start;
+    }
+
+    /**
+     * 是否在记录
+     * Whether anything is recorded
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 结束一个阶段，耗时为上一个阶段结束到现在
+     * End a phase, its duration runs from the end of the previous phase until now
+     *
+     * @param phase 阶段(phase)
+     */
+    public void phase(Phase phase) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        record(phase, now - mark);
+        mark = now;
+    }
+
+    /**
+     * 结束一个阶段，其中 partNanos 的耗时记到 part 阶段，用于和数据行交错进行的表头
+     * End a phase, partNanos of its duration are recorded to the part phase, used for headers interleaved with the
+     * data rows
+     *
+     * @param phase     阶段(phase)
+     * @param part      其中一部分的阶段(phase of the part)
+     * @param partNanos 那一部分的耗时，纳秒(duration of the part in nanoseconds)
+     */
+    public void phase(Phase phase, Phase part, long partNanos) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        long nanos = now - mark;
+        long partOf = Math.max(0, Math.min(partNanos, nanos));
+        record(part, partOf);
+        record(phase, nanos - partOf);
+        mark = now;
+    }
+
+    /**
+     * 增加行数
+     * Add rows
+     *
+     * @param rows 行数(rows)
+     */
+    public void addRows(long rows) {
+        this.rows += rows;
+    }
+
+    /**
+     * 增加字节数
+     * Add bytes
+     *
+     * @param bytes 字节数(bytes)
+     */
+    public void addBytes(long bytes) {
+        this.bytes += bytes;
+    }
+
+    /**
+     * 记录失败的原因
+     * Record the cause of the failure
+     *
+     * @param error 异常(exception)
+     */
+    public void error(Throwable error) {
+        this.error = error;
+    }
+
+    /**
+     * 包装输出流以统计写出的字节数
+     * Wrap the output stream to count the bytes written
+     *
+     * @param out 输出流(output stream)
+     * @return 包装后的输出流，没有在记录时为原来的流(the wrapped stream, the stream itself when nothing is recorded)
+     */
+    public OutputStream count(OutputStream out) {
+        if (!enabled || out == null) {
+            return out;
+        }
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                bytes++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                bytes += len;
+            }
+        };
+    }
+
+    /**
+     * 包装输入流以统计读取的字节数
+     * Wrap the input stream to count the bytes read
+     *
+     * @param in 输入流(input stream)
+     * @return 包装后的输入流，没有在记录时为原来的流(the wrapped stream, the stream itself when nothing is recorded)
+     */
+    public InputStream count(InputStream in) {
+        if (!enabled || in == null) {
+            return in;
+        }
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int b = in.read();
+                if (b >= 0) {
+                    bytes++;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = in.read(b, off, len);
+                if (n > 0) {
+                    bytes += n;
+                }
+                return n;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long skipped = in.skip(n);
+                bytes += skipped;
+                return skipped;
+            }
+
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 结束记录并回调监听器；监听器抛出的异常会被忽略，不影响读写结果
+     * Finish recording and call back the listener; exceptions thrown by the listener are ignored and do not affect
+     * the result of the read or write
+     */
+    public void complete() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            listener.onComplete(new ExcelMetrics(operation, dataClass, phaseNanos.clone(), System.nanoTime() - start,
+                    rows, bytes, error));
+        } catch (RuntimeException ignored) {
+            // a broken listener must not fail the read or write
+        }
+    }
+
+    private void record(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()] += nanos;
+        try {
+            listener.onPhase(operation, phase, nanos);
+        } catch (RuntimeException ignored) {
+            // a broken listener must not fail the read or write
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.excel.metrics;
+
+/**
+ * 读或写
+ * Read or write
+ *
+ * @author heng.lei
+ */
+public enum Operation {
+
+    READ,
+
+    WRITE
+}
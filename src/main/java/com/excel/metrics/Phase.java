@@ -0,0 +1,40 @@
+package com.excel.metrics;
+
+/**
+ * 一次读写的阶段，按先后顺序排列
+ * Phases of a read or a write, in the order they happen
+ *
+ * @author heng.lei
+ */
+public enum Phase {
+
+    /**
+     * 打开文件或流、创建workbook；读取xlsx时包括加载共享字符串表
+     * Open the file or stream and create the workbook; includes loading the shared strings table when reading xlsx
+     */
+    OPEN,
+
+    /**
+     * 写入或解析表头
+     * Write or parse the header
+     */
+    HEADER,
+
+    /**
+     * 写入或读取数据行，包括实体类的反射、格式化和样式
+     * Write or read the data rows, including the reflection, formatting and styling of the entities
+     */
+    ROWS,
+
+    /**
+     * 把workbook序列化(zip压缩)到输出流，只有写入xlsx时有
+     * Serialize (zip) the workbook into the output stream, only when writing xlsx
+     */
+    SERIALIZE,
+
+    /**
+     * 关闭workbook和流、删除临时文件
+     * Close the workbook and the streams, and delete the temp files
+     */
+    CLOSE
+}
@@ -0,0 +1,87 @@
+package com.excel.metrics;
+
+import com.excel.sax.RowVisitor;
+import org.apache.poi.ss.usermodel.CellType;
+
+/**
+ * 包装 RowVisitor，把第一个事件之前记为 OPEN 阶段、表头行记为 HEADER 阶段
+ * Wraps a RowVisitor, everything before the first event is recorded as the OPEN phase and the header row as the
+ * HEADER phase
+ *
+ * @author heng.lei
+ */
+public final class TimedRowVisitor implements RowVisitor {
+
+    private final RowVisitor delegate;
+
+    private final MetricsRecorder metrics;
+
+    private boolean opened;
+
+    private boolean headerDone;
+
+    private TimedRowVisitor(RowVisitor delegate, MetricsRecorder metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 没有在记录时返回原来的 visitor
+     * Returns the visitor itself when nothing is recorded
+     *
+     * @param visitor 行回调(row callback)
+     * @param metrics 记录器(recorder)
+     * @return RowVisitor
+     */
+    public static RowVisitor wrap(RowVisitor visitor, MetricsRecorder metrics) {
+        return metrics.isEnabled() ? new TimedRowVisitor(visitor, metrics) : visitor;
+    }
+
+    @Override
+    public void dimension(int lastRow) {
+        opened();
+        delegate.dimension(lastRow);
+    }
+
+    @Override
+    public void startRow(int rowNum) {
+        opened();
+        delegate.startRow(rowNum);
+    }
+
+    @Override
+    public boolean accepts(int column) {
+        return delegate.accepts(column);
+    }
+
+    @Override
+    public void cell(int column, CellType type, CharSequence value) {
+        delegate.cell(column, type, value);
+    }
+
+    @Override
+    public void endRow(int rowNum) {
+        delegate.endRow(rowNum);
+        if (!headerDone) {
+            headerDone = true;
+            metrics.phase(Phase.HEADER);
+        }
+    }
+
+    @Override
+    public boolean isDone() {
+        return delegate.isDone();
+    }
+
+    @Override
+    public void endSheet() {
+        delegate.endSheet();
+    }
+
+    private void opened() {
+        if (!opened) {
+            opened = true;
+            metrics.phase(Phase.OPEN);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.excel.sax;
+
+import com.excel.exception.ExcelException;
+import com.excel.meta.ExcelMapping;
+import com.excel.meta.FieldMapping;
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * 把sheet行转换成实体类，第一行为表头
+ * Convert sheet rows into entity objects, the first row is the header
+ * <p>
+ * 可以只读取部分列，也可以在创建实体类之前按原始值过滤行；不需要的单元格不会被保存；
+ * 读够 offset/limit 范围内的行后解析器停止解析
+ * Only some columns may be read, and rows may be filtered by their raw values before any entity is created; cells
+ * that are not needed are never kept; the parser stops once the rows within offset/limit are read
+ *
+ * @param <R> object type
+ * @author heng.lei
+ */
+public class BeanRowVisitor<R> implements RowVisitor {
+
+    /**
+     * 不读取的字段
+     * Field that is not read
+     */
+    private static final int SKIPPED = -2;
+
+    private final Consumer<R> consumer;
+
+    private final ExcelMapping mapping;
+
+    private final FieldMapping[] fields;
+
+    private final Map<String, Integer> header = new HashMap<>();
+
+    private final RawRow rawRow = new RawRow(header);
+
+    private int[] columns;
+
+    /**
+     * 需要保存的列，有行过滤时为null表示全部保存
+     * Columns that are kept, null keeps all of them when there is a row filter
+     */
+    private BitSet neededColumns;
+
+    private Set<String> projection;
+
+    private Predicate<RawRow> filter;
+
+    private int offset;
+
+    private int limit = -1;
+
+    private IntConsumer rowEstimate;
+
+    private int skipped;
+
+    private int delivered;
+
+    private String[] values = new String[16];
+
+    private CellType[] types = new CellType[16];
+
+    private boolean headerRow;
+
+    public BeanRowVisitor(Class<R> clazz, Consumer<R> consumer) {
+        this.consumer = consumer;
+        this.mapping = ExcelMapping.of(clazz);
+        this.fields = mapping.getFields();
+    }
+
+    /**
+     * 只读取这些表头名称对应的字段，其余字段保持默认值
+     * Only read the fields of these header names, the other fields keep their default values
+     *
+     * @param names 表头名称(header names)，null或空表示全部(null or empty reads all)
+     * @return this
+     */
+    public BeanRowVisitor<R> project(String... names) {
+        if (names == null || names.length == 0) {
+            this.projection = null;
+            return this;
+        }
+        Set<String> declared = new HashSet<>();
+        for (FieldMapping field : fields) {
+            declared.add(field.getColumn().getValue());
+        }
+        for (String name : names) {
+            if (!declared.contains(name)) {
+                throw new ExcelException("column not found: " + name);
+            }
+        }
+        this.projection = new HashSet<>(Arrays.asList(names));
+        return this;
+    }
+
+    /**
+     * 按原始值过滤行，返回false的行不会创建实体类
+     * Filter rows by their raw values, no entity is created for rows it returns false for
+     *
+     * @param filter 行过滤(row filter)，null表示不过滤(null keeps every row)
+     * @return this
+     */
+    public BeanRowVisitor<R> filter(Predicate<RawRow> filter) {
+        this.filter = filter;
+        return this;
+    }
+
+    /**
+     * 跳过前 offset 行后最多读取 limit 行，按过滤之后的行计数；读够后 isDone 返回true
+     * Read at most limit rows after skipping the first offset rows, counted after filtering; isDone returns true once
+     * enough rows are read
+     *
+     * @param offset 跳过的行数(rows to skip)
+     * @param limit  最多读取的行数(maximum rows to read)，小于0表示不限制(negative means unlimited)
+     * @return this
+     */
+    public BeanRowVisitor<R> range(int offset, int limit) {
+        this.offset = offset;
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * 解析出sheet维度信息时回调数据行数(不含表头)的估计值
+     * Called back with the estimated number of data rows (header excluded) once the sheet dimension is parsed
+     *
+     * @param rowEstimate 回调(callback)，可以为null(may be null)
+     * @return this
+     */
+    public BeanRowVisitor<R> rowEstimate(IntConsumer rowEstimate) {
+        this.rowEstimate = rowEstimate;
+        return this;
+    }
+
+    /**
+     * 已经交给 accept 的数据行数
+     * Number of data rows handed to accept so far
+     */
+    public int getRowCount() {
+        return delivered;
+    }
+
+    @Override
+    public void dimension(int lastRow) {
+        if (rowEstimate != null) {
+            rowEstimate.accept(lastRow);
+        }
+    }
+
+    @Override
+    public boolean isDone() {
+        return limit >= 0 && delivered >= limit;
+    }
+
+    @Override
+    public void startRow(int rowNum) {
+        headerRow = rowNum == 0;
+        Arrays.fill(values, null);
+    }
+
+    @Override
+    public boolean accepts(int column) {
+        if (headerRow) {
+            return true;
+        }
+        return columns != null && (neededColumns == null || neededColumns.get(column));
+    }
+
+    @Override
+    public void cell(int column, CellType type, CharSequence value) {
+        if (headerRow) {
+            header.put(value.toString(), column);
+            return;
+        }
+        if (!accepts(column)) {
+            return;
+        }
+        if (column >= values.length) {
+            values = Arrays.copyOf(values, Math.max(column + 1, values.length * 2));
+            types = Arrays.copyOf(types, values.length);
+        }
+        values[column] = value.toString();
+        types[column] = type;
+    }
+
+    @Override
+    public void endRow(int rowNum) {
+        if (headerRow) {
+            resolveColumns();
+            return;
+        }
+        if (columns == null || isDone()) {
+            return;
+        }
+        if (filter != null) {
+            rawRow.reset(rowNum, values, types);
+            if (!filter.test(rawRow)) {
+                return;
+            }
+        }
+        if (skipped < offset) {
+            skipped++;
+            return;
+        }
+        delivered++;
+        accept(values, types);
+    }
+
+    private void resolveColumns() {
+        columns = mapping.resolveColumns(header);
+        BitSet needed = new BitSet();
+        for (int i = 0; i < fields.length; i++) {
+            if (projection != null && !projection.contains(fields[i].getColumn().getValue())) {
+                columns[i] = SKIPPED;
+            } else if (columns[i] >= 0) {
+                needed.set(columns[i]);
+            }
+        }
+        neededColumns = filter == null ? needed : null;
+    }
+
+    /**
+     * 处理一行数据，默认在当前线程转换成实体类后回调 consumer；values 和 types 在返回后会被复用
+     * Handle a data row, by default it is converted on the current thread and passed to the consumer; values and
+     * types are reused after this returns
+     *
+     * @param values 单元格原始值，按列号(raw cell values by column index)
+     * @param types  单元格类型，按列号(cell types by column index)
+     */
+    protected void accept(String[] values, CellType[] types) {
+        consumer.accept(map(values, types));
+    }
+
+    /**
+     * 把一行原始值转换成实体类，表头解析后可以在任意线程调用
+     * Convert the raw values of a row into an entity, may be called from any thread once the header is resolved
+     *
+     * @param values 单元格原始值，按列号(raw cell values by column index)
+     * @param types  单元格类型，按列号(cell types by column index)
+     * @return object
+     */
+    protected R map(String[] values, CellType[] types) {
+        R object = mapping.newInstance();
+        for (int i = 0; i < fields.length; i++) {
+            int column = columns[i];
+            if (column == SKIPPED) {
+                continue;
+            }
+            if (column >= 0 && column < values.length) {
+                fields[i].read(object, types[column], values[column]);
+            } else {
+                fields[i].read(object, (String) null);
+            }
+        }
+        return object;
+    }
+}
@@ -0,0 +1,129 @@
+package com.excel.sax;
+
+import com.excel.utils.ForkTask;
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * 解析线程只负责收集原始行，行到实体类的转换按批在 executor 上并发进行
+ * The parsing thread only collects raw rows, the conversion of rows into entities runs in batches concurrently on the
+ * executor
+ * <p>
+ * 同时在转换中的批数有上限，达到上限时解析线程等待最早的一批完成，以此形成背压。
+ * 保持顺序时 consumer 在解析线程中按行顺序调用；否则 consumer 在工作线程中调用，必须是线程安全的
+ * The number of batches being converted at the same time is bounded, once the bound is reached the parsing thread
+ * waits for the oldest batch, which gives backpressure.
+ * When keeping the order, the consumer is called on the parsing thread in row order; otherwise it is called on the
+ * worker threads and must be thread-safe
+ * <p>
+ * 解析线程等待的批如果还没有开始执行，就在解析线程中转换(见 ForkTask)，executor 可以与 doReadAsync 使用同一个有界线程池
+ * A batch the parsing thread waits for is converted on the parsing thread if it has not started yet (see ForkTask),
+ * so the executor may be the same bounded pool as the one passed to doReadAsync
+ *
+ * @param <R> object type
+ * @author heng.lei
+ */
+public class ParallelRowVisitor<R> extends BeanRowVisitor<R> {
+
+    /**
+     * 每批的行数
+     * Number of rows per batch
+     */
+    public static final int BATCH_SIZE = 256;
+
+    /**
+     * 同时在转换中的最大批数
+     * Maximum number of batches being converted at the same time
+     */
+    public static final int MAX_PENDING_BATCHES = 32;
+
+    private final Consumer<R> consumer;
+
+    private final Executor executor;
+
+    private final boolean keepOrder;
+
+    private final Deque<ForkTask<List<R>>> pending = new ArrayDeque<>();
+
+    private String[][] batchValues;
+
+    private CellType[][] batchTypes;
+
+    private int batchSize;
+
+    /**
+     * @param clazz     实体类class
+     * @param consumer  每一行的回调(callback of each row)
+     * @param executor  转换用的线程池(executor of the conversion)
+     * @param keepOrder 是否按行顺序回调(call back in row order or not)
+     */
+    public ParallelRowVisitor(Class<R> clazz, Consumer<R> consumer, Executor executor, boolean keepOrder) {
+        super(clazz, consumer);
+        this.consumer = consumer;
+        this.executor = executor;
+        this.keepOrder = keepOrder;
+    }
+
+    @Override
+    protected void accept(String[] values, CellType[] types) {
+        if (batchValues == null) {
+            batchValues = new String[BATCH_SIZE][];
+            batchTypes = new CellType[BATCH_SIZE][];
+        }
+        batchValues[batchSize] = values.clone();
+        batchTypes[batchSize] = types.clone();
+        if (++batchSize == BATCH_SIZE) {
+            submit();
+        }
+    }
+
+    @Override
+    public void endSheet() {
+        if (batchSize > 0) {
+            submit();
+        }
+        while (!pending.isEmpty()) {
+            deliver(pending.poll());
+        }
+    }
+
+    private void submit() {
+        String[][] values = batchValues;
+        CellType[][] types = batchTypes;
+        int size = batchSize;
+        batchValues = null;
+        batchTypes = null;
+        batchSize = 0;
+        if (pending.size() >= MAX_PENDING_BATCHES) {
+            deliver(pending.poll());
+        }
+        pending.add(ForkTask.fork(() -> convert(values, types, size), executor));
+    }
+
+    private List<R> convert(String[][] values, CellType[][] types, int size) {
+        if (!keepOrder) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(map(values[i], types[i]));
+            }
+            return null;
+        }
+        List<R> objects = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            objects.add(map(values[i], types[i]));
+        }
+        return objects;
+    }
+
+    private void deliver(ForkTask<List<R>> batch) {
+        List<R> objects = batch.join();
+        if (objects != null) {
+            objects.forEach(consumer);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.excel.sax;
+
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.util.Map;
+
+/**
+ * 转换成实体类之前的一行原始值，供读取时的行过滤使用；对象在行之间复用，不能保存
+ * Raw values of a row before it is converted into an entity, used by the row filter when reading; the object is
+ * reused between rows and must not be kept
+ *
+ * @author heng.lei
+ */
+public final class RawRow {
+
+    private final Map<String, Integer> header;
+
+    private int rowNum;
+
+    private String[] values;
+
+    private CellType[] types;
+
+    RawRow(Map<String, Integer> header) {
+        this.header = header;
+    }
+
+    void reset(int rowNum, String[] values, CellType[] types) {
+        this.rowNum = rowNum;
+        this.values = values;
+        this.types = types;
+    }
+
+    /**
+     * 行号，从0开始，表头为第0行
+     * Row number, starts from 0, the header is row 0
+     */
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    /**
+     * 按表头名称取原始值，数字为xml中的文本，布尔为1或0
+     * Get a raw value by header name, numbers are the text of the xml, booleans are 1 or 0
+     *
+     * @param name 表头名称(header name)
+     * @return 原始值，空单元格或不存在的列为null(raw value, null for empty cells or missing columns)
+     */
+    public String get(String name) {
+        Integer column = header.get(name);
+        return column == null ? null : get(column);
+    }
+
+    /**
+     * 按列号取原始值
+     * Get a raw value by column index
+     *
+     * @param column 列号，从0开始(column index, starts from 0)
+     * @return 原始值，空单元格为null(raw value, null for empty cells)
+     */
+    public String get(int column) {
+        return column >= 0 && column < values.length ? values[column] : null;
+    }
+
+    /**
+     * 按列号取单元格类型
+     * Get a cell type by column index
+     *
+     * @param column 列号，从0开始(column index, starts from 0)
+     * @return 单元格类型，空单元格为null(cell type, null for empty cells)
+     */
+    public CellType getType(int column) {
+        return column >= 0 && column < values.length && values[column] != null ? types[column] : null;
+    }
+}
@@ -0,0 +1,56 @@
+package com.excel.sax;
+
+import org.apache.poi.ss.usermodel.CellType;
+
+/**
+ * 只读取sheet的维度信息来估计数据行数，拿到维度信息或第一行结束后就停止解析
+ * Estimates the number of data rows from the sheet dimension only, parsing stops once the dimension or the first row
+ * has been seen
+ *
+ * @author heng.lei
+ */
+public class RowCountEstimator implements RowVisitor {
+
+    private int estimate = -1;
+
+    private boolean done;
+
+    /**
+     * 估计的数据行数(不含表头)
+     * Estimated number of data rows (header excluded)
+     *
+     * @return 估计的行数，没有维度信息时为-1(estimated rows, -1 without a dimension)
+     */
+    public int getEstimate() {
+        return estimate;
+    }
+
+    @Override
+    public void dimension(int lastRow) {
+        estimate = lastRow;
+        done = true;
+    }
+
+    @Override
+    public boolean isDone() {
+        return done;
+    }
+
+    @Override
+    public boolean accepts(int column) {
+        return false;
+    }
+
+    @Override
+    public void startRow(int rowNum) {
+    }
+
+    @Override
+    public void cell(int column, CellType type, CharSequence value) {
+    }
+
+    @Override
+    public void endRow(int rowNum) {
+        done = true;
+    }
+}
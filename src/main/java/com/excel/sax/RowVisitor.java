@@ -0,0 +1,75 @@
+package com.excel.sax;
+
+import org.apache.poi.ss.usermodel.CellType;
+
+/**
+ * sheet行事件回调
+ * Callback for the row events of a sheet
+ *
+ * @author heng.lei
+ */
+public interface RowVisitor {
+
+    /**
+     * 开始一行
+     * A row starts
+     *
+     * @param rowNum 行号，从0开始(row number, starts from 0)
+     */
+    void startRow(int rowNum);
+
+    /**
+     * 是否需要该列的单元格，不需要时解析器可以跳过它
+     * Whether the cells of the column are needed, the parser may skip them when they are not
+     *
+     * @param column 列号，从0开始(column index, starts from 0)
+     * @return 是否需要(needed or not)
+     */
+    default boolean accepts(int column) {
+        return true;
+    }
+
+    /**
+     * 一个单元格，value 在回调结束后会被复用，不能直接保存
+     * A cell, value is reused after the callback returns and must not be kept
+     *
+     * @param column 列号，从0开始(column index, starts from 0)
+     * @param type   单元格类型(cell type)
+     * @param value  单元格原始值(raw cell value)
+     */
+    void cell(int column, CellType type, CharSequence value);
+
+    /**
+     * 结束一行
+     * A row ends
+     *
+     * @param rowNum 行号，从0开始(row number, starts from 0)
+     */
+    void endRow(int rowNum);
+
+    /**
+     * sheet的维度信息，在第一行之前回调；不是所有文件都有准确的维度信息
+     * Dimension of the sheet, called back before the first row; not every file has an accurate dimension
+     *
+     * @param lastRow 最后一行的行号，从0开始(row number of the last row, starts from 0)
+     */
+    default void dimension(int lastRow) {
+    }
+
+    /**
+     * 是否已经不需要更多的行，返回true时解析器停止解析
+     * Whether no more rows are needed, the parser stops once this returns true
+     *
+     * @return 是否结束(done or not)
+     */
+    default boolean isDone() {
+        return false;
+    }
+
+    /**
+     * sheet解析结束，提前停止时也会回调
+     * The sheet has been parsed, also called back when parsing stops early
+     */
+    default void endSheet() {
+    }
+}
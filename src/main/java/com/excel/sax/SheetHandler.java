@@ -0,0 +1,197 @@
+package com.excel.sax;
+
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * sheet xml的SAX解析器，只保留当前单元格的内容
+ * SAX handler of the sheet xml, only the content of the current cell is kept
+ *
+ * @author heng.lei
+ */
+public class SheetHandler extends DefaultHandler {
+
+    private final SharedStrings sharedStrings;
+
+    private final RowVisitor visitor;
+
+    private final StringBuilder value = new StringBuilder(64);
+
+    private int rowNum = -1;
+
+    private int column = -1;
+
+    private String cellType;
+
+    private boolean hasValue;
+
+    private boolean capturing;
+
+    private boolean inInlineString;
+
+    private boolean inPhonetic;
+
+    /**
+     * 当前单元格不需要，不保存内容也不查共享字符串表
+     * The current cell is not needed, its content is neither kept nor looked up in the shared strings table
+     */
+    private boolean skipping;
+
+    public SheetHandler(SharedStrings sharedStrings, RowVisitor visitor) {
+        this.sharedStrings = sharedStrings;
+        this.visitor = visitor;
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) throws StopParsing {
+        switch (localName) {
+            case "dimension":
+                String dimension = attributes.getValue("ref");
+                if (dimension != null) {
+                    visitor.dimension(CellRangeAddress.valueOf(dimension).getLastRow());
+                    if (visitor.isDone()) {
+                        throw new StopParsing();
+                    }
+                }
+                break;
+            case "row":
+                String r = attributes.getValue("r");
+                rowNum = r == null ? rowNum + 1 : Integer.parseInt(r) - 1;
+                column = -1;
+                visitor.startRow(rowNum);
+                break;
+            case "c":
+                String ref = attributes.getValue("r");
+                column = ref == null ? column + 1 : columnIndex(ref);
+                cellType = attributes.getValue("t");
+                value.setLength(0);
+                hasValue = false;
+                skipping = !visitor.accepts(column);
+                break;
+            case "v":
+                capturing = !skipping;
+                hasValue = !skipping;
+                break;
+            case "is":
+                inInlineString = true;
+                hasValue = !skipping;
+                break;
+            case "rPh":
+                inPhonetic = true;
+                break;
+            case "t":
+                capturing = inInlineString && !inPhonetic && !skipping;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws StopParsing {
+        switch (localName) {
+            case "v":
+            case "t":
+                capturing = false;
+                break;
+            case "rPh":
+                inPhonetic = false;
+                break;
+            case "is":
+                inInlineString = false;
+                break;
+            case "c":
+                if (hasValue) {
+                    emitCell();
+                }
+                break;
+            case "row":
+                visitor.endRow(rowNum);
+                if (visitor.isDone()) {
+                    throw new StopParsing();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void endDocument() {
+        visitor.endSheet();
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (capturing) {
+            value.append(ch, start, length);
+        }
+    }
+
+    private void emitCell() {
+        if (cellType == null || "n".equals(cellType)) {
+            visitor.cell(column, CellType.NUMERIC, value);
+            return;
+        }
+        switch (cellType) {
+            case "s":
+                String text = sharedStrings.getItemAt(parseIndex(value)).getString();
+                visitor.cell(column, CellType.STRING, text);
+                break;
+            case "b":
+                visitor.cell(column, CellType.BOOLEAN, value);
+                break;
+            case "e":
+                visitor.cell(column, CellType.ERROR, value);
+                break;
+            default:
+                // inlineStr, str(formula result) and d(ISO 8601 date)
+                visitor.cell(column, CellType.STRING, value);
+                break;
+        }
+    }
+
+    /**
+     * 单元格引用(如 AB12)转成列号
+     * Convert a cell reference (such as AB12) to a column index
+     */
+    static int columnIndex(String ref) {
+        int column = 0;
+        for (int i = 0; i < ref.length(); i++) {
+            char c = ref.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    private static int parseIndex(CharSequence value) {
+        int index = 0;
+        for (int i = 0; i < value.length(); i++) {
+            index = index * 10 + (value.charAt(i) - '0');
+        }
+        return index;
+    }
+
+    /**
+     * visitor 不再需要更多的行时抛出，用来提前结束解析
+     * Thrown when the visitor needs no more rows, used to end the parse early
+     */
+    static final class StopParsing extends SAXException {
+
+        StopParsing() {
+            super("parsing stopped");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
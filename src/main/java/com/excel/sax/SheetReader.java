@@ -0,0 +1,57 @@
+package com.excel.sax;
+
+import com.excel.exception.ExcelException;
+import org.apache.poi.ooxml.util.SAXHelper;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 以SAX方式逐行读取xlsx中的sheet
+ * Read a sheet of xlsx row by row with SAX
+ *
+ * @author heng.lei
+ */
+public final class SheetReader {
+
+    private SheetReader() {
+    }
+
+    /**
+     * 解析指定sheet，每一行回调一次 visitor，visitor 结束时停止解析
+     * Parse the given sheet, the visitor is called back once per row, parsing stops once the visitor is done
+     *
+     * @param pkg       xlsx包(xlsx package)
+     * @param sheetName sheet名称(sheet name)
+     * @param visitor   行回调(row callback)
+     */
+    public static void read(OPCPackage pkg, String sheetName, RowVisitor visitor)
+            throws IOException, SAXException, OpenXML4JException, ParserConfigurationException {
+        XSSFReader reader = new XSSFReader(pkg);
+        ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheets.hasNext()) {
+            try (InputStream sheetStream = sheets.next()) {
+                if (sheets.getSheetName().equalsIgnoreCase(sheetName)) {
+                    XMLReader xmlReader = SAXHelper.newXMLReader();
+                    xmlReader.setContentHandler(new SheetHandler(sharedStrings, visitor));
+                    try {
+                        xmlReader.parse(new InputSource(sheetStream));
+                    } catch (SheetHandler.StopParsing e) {
+                        visitor.endSheet();
+                    }
+                    return;
+                }
+            }
+        }
+        throw new ExcelException("Sheet not found");
+    }
+}
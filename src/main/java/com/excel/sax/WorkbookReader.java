@@ -0,0 +1,83 @@
+package com.excel.sax;
+
+import com.excel.exception.ExcelException;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * 把已经加载的workbook中的sheet按行回调 RowVisitor，单元格的值与SAX读取时的原始值一致
+ * Call back a RowVisitor with the rows of a sheet of a loaded workbook, cell values match the raw values of the SAX
+ * read
+ *
+ * @author heng.lei
+ */
+public final class WorkbookReader {
+
+    private WorkbookReader() {
+    }
+
+    /**
+     * 读取指定sheet，每一行回调一次 visitor
+     * Read the given sheet, the visitor is called back once per row
+     *
+     * @param workbook  workbook
+     * @param sheetName sheet名称(sheet name)
+     * @param visitor   行回调(row callback)
+     */
+    public static void read(Workbook workbook, String sheetName, RowVisitor visitor) {
+        Sheet sheet = workbook.getSheet(sheetName);
+        if (sheet == null) {
+            throw new ExcelException("Sheet not found");
+        }
+        if (sheet.getPhysicalNumberOfRows() > 0) {
+            visitor.dimension(sheet.getLastRowNum());
+        }
+        for (Row row : sheet) {
+            if (visitor.isDone()) {
+                break;
+            }
+            int rowNum = row.getRowNum();
+            visitor.startRow(rowNum);
+            for (Cell cell : row) {
+                int column = cell.getColumnIndex();
+                if (!visitor.accepts(column)) {
+                    continue;
+                }
+                CellType type = cell.getCellType() == CellType.FORMULA
+                        ? cell.getCachedFormulaResultType() : cell.getCellType();
+                switch (type) {
+                    case NUMERIC:
+                        visitor.cell(column, type, rawNumber(cell.getNumericCellValue()));
+                        break;
+                    case BOOLEAN:
+                        visitor.cell(column, type, cell.getBooleanCellValue() ? "1" : "0");
+                        break;
+                    case STRING:
+                        visitor.cell(column, type, cell.getStringCellValue());
+                        break;
+                    case BLANK:
+                        break;
+                    default:
+                        visitor.cell(column, type, cell.toString());
+                        break;
+                }
+            }
+            visitor.endRow(rowNum);
+        }
+        visitor.endSheet();
+    }
+
+    /**
+     * 数字按xml中的写法转成文本，整数没有小数部分
+     * Numbers are written as in the xml, integers have no fraction
+     */
+    private static String rawNumber(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+}
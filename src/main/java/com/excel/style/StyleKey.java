@@ -0,0 +1,108 @@
+package com.excel.style;
+
+import com.excel.meta.ExcelColumn;
+import org.apache.poi.ss.usermodel.FillPatternType;
+
+import java.util.Objects;
+
+/**
+ * 单元格样式的有效属性，属性相同的样式共用一个 CellStyle
+ * Effective attributes of a cell style, styles with equal attributes share one CellStyle
+ *
+ * @author heng.lei
+ */
+public final class StyleKey {
+
+    private final short backgroundColor;
+
+    private final FillPatternType fillPatternType;
+
+    private final boolean border;
+
+    private final boolean alignment;
+
+    private final boolean verticalAlignment;
+
+    private final boolean bold;
+
+    private final String dataFormat;
+
+    private StyleKey(short backgroundColor, FillPatternType fillPatternType, boolean border, boolean alignment,
+                     boolean verticalAlignment, boolean bold, String dataFormat) {
+        this.backgroundColor = backgroundColor;
+        this.fillPatternType = fillPatternType;
+        this.border = border;
+        this.alignment = alignment;
+        this.verticalAlignment = verticalAlignment;
+        this.bold = bold;
+        this.dataFormat = dataFormat;
+    }
+
+    /**
+     * 表头样式：背景色、填充、细黑边框、对齐和字体
+     * Header style: background, fill, thin black border, alignment and font
+     */
+    public static StyleKey header(ExcelColumn column) {
+        return new StyleKey(column.getBackgroundColor().index, column.getFillPatternType(), true,
+                column.isAlignment(), column.isVerticalAlignment(), column.isBold(), null);
+    }
+
+    /**
+     * 数据样式：只有数据格式
+     * Data style: a data format only
+     */
+    public static StyleKey data(String dataFormat) {
+        return new StyleKey((short) -1, null, false, false, false, false, dataFormat);
+    }
+
+    short getBackgroundColor() {
+        return backgroundColor;
+    }
+
+    FillPatternType getFillPatternType() {
+        return fillPatternType;
+    }
+
+    boolean isBorder() {
+        return border;
+    }
+
+    boolean isAlignment() {
+        return alignment;
+    }
+
+    boolean isVerticalAlignment() {
+        return verticalAlignment;
+    }
+
+    boolean isBold() {
+        return bold;
+    }
+
+    String getDataFormat() {
+        return dataFormat;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StyleKey)) {
+            return false;
+        }
+        StyleKey that = (StyleKey) o;
+        return backgroundColor == that.backgroundColor
+                && border == that.border
+                && alignment == that.alignment
+                && verticalAlignment == that.verticalAlignment
+                && bold == that.bold
+                && fillPatternType == that.fillPatternType
+                && Objects.equals(dataFormat, that.dataFormat);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(backgroundColor, fillPatternType, border, alignment, verticalAlignment, bold, dataFormat);
+    }
+}
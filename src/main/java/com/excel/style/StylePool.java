@@ -0,0 +1,138 @@
+package com.excel.style;
+
+import com.excel.codec.Codec;
+import com.excel.utils.DateFormat;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * workbook级别的样式池，按有效属性复用 CellStyle、Font 和 DataFormat，非线程安全
+ * Workbook level style pool, CellStyle, Font and DataFormat are reused by their effective attributes, not thread-safe
+ * <p>
+ * 样式在写入行之前按列解析一次，避免 styles.xml 膨胀和 64000 个样式的上限
+ * Styles are resolved once per column before any row is written, which keeps styles.xml small and far from the
+ * 64000 styles limit
+ *
+ * @author heng.lei
+ */
+public class StylePool {
+
+    private final Workbook workbook;
+
+    private final Map<StyleKey, CellStyle> styles = new HashMap<>();
+
+    private final Map<String, Short> dataFormats = new HashMap<>();
+
+    private final Map<Boolean, Font> fonts = new HashMap<>();
+
+    private DataFormat dataFormat;
+
+    public StylePool(Workbook workbook) {
+        this.workbook = workbook;
+    }
+
+    /**
+     * 获取属性对应的样式
+     * Get the style of the given attributes
+     *
+     * @param key 样式属性(style attributes)
+     * @return CellStyle
+     */
+    public CellStyle get(StyleKey key) {
+        CellStyle style = styles.get(key);
+        if (style == null) {
+            style = create(key);
+            styles.put(key, style);
+        }
+        return style;
+    }
+
+    /**
+     * 数据单元格的样式，日期和带格式的数字才有样式
+     * Style of data cells, only dates and formatted numbers have one
+     *
+     * @param codec  转换器(codec)
+     * @param format 生效的格式(effective format)
+     * @return CellStyle，无样式时为null(null when there is no style)
+     */
+    public CellStyle data(Codec codec, String format) {
+        if (codec.isDate()) {
+            return get(StyleKey.data(DateFormat.toExcelFormat(format)));
+        }
+        if (codec.cellType() == CellType.NUMERIC && !format.isEmpty()) {
+            return get(StyleKey.data(format));
+        }
+        return null;
+    }
+
+    /**
+     * 获取数据格式的下标
+     * Get the index of a data format
+     */
+    public short dataFormat(String format) {
+        Short index = dataFormats.get(format);
+        if (index == null) {
+            if (dataFormat == null) {
+                dataFormat = workbook.createDataFormat();
+            }
+            index = dataFormat.getFormat(format);
+            dataFormats.put(format, index);
+        }
+        return index;
+    }
+
+    /**
+     * 获取字体，只有加粗需要新建字体
+     * Get a font, only bold needs a new font
+     */
+    public Font font(boolean bold) {
+        Font font = fonts.get(bold);
+        if (font == null) {
+            font = workbook.createFont();
+            font.setBold(bold);
+            fonts.put(bold, font);
+        }
+        return font;
+    }
+
+    private CellStyle create(StyleKey key) {
+        CellStyle cellStyle = workbook.createCellStyle();
+        if (key.getFillPatternType() != null) {
+            cellStyle.setFillForegroundColor(key.getBackgroundColor());
+            cellStyle.setFillPattern(key.getFillPatternType());
+        }
+        if (key.isBorder()) {
+            cellStyle.setBorderTop(BorderStyle.THIN);
+            cellStyle.setTopBorderColor(IndexedColors.BLACK.getIndex());
+            cellStyle.setBorderRight(BorderStyle.THIN);
+            cellStyle.setRightBorderColor(IndexedColors.BLACK.getIndex());
+            cellStyle.setBorderBottom(BorderStyle.THIN);
+            cellStyle.setBottomBorderColor(IndexedColors.BLACK.getIndex());
+            cellStyle.setBorderLeft(BorderStyle.THIN);
+            cellStyle.setLeftBorderColor(IndexedColors.BLACK.getIndex());
+        }
+        if (key.isAlignment()) {
+            cellStyle.setAlignment(HorizontalAlignment.CENTER);
+        }
+        if (key.isVerticalAlignment()) {
+            cellStyle.setVerticalAlignment(VerticalAlignment.CENTER);
+        }
+        if (key.isBold()) {
+            cellStyle.setFont(font(true));
+        }
+        if (key.getDataFormat() != null) {
+            cellStyle.setDataFormat(dataFormat(key.getDataFormat()));
+        }
+        return cellStyle;
+    }
+}
@@ -1,4 +1,12 @@
 package com.excel.utils;
 
+import com.excel.exception.ExcelException;
+
 public class AssertUtils {
+
+    public static void isTrue(boolean expression, String message) {
+        if (!expression) {
+            throw new ExcelException(message);
+        }
+    }
 }
@@ -0,0 +1,43 @@
+package com.excel.utils;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 异步读写默认使用的线程池，JDK 21及以上由多版本jar中的实现替换为虚拟线程
+ * Default executor of the asynchronous reads and writes, on JDK 21 and later the multi-release jar replaces it with
+ * virtual threads
+ *
+ * @author heng.lei
+ */
+public final class AsyncExecutors {
+
+    private AsyncExecutors() {
+    }
+
+    /**
+     * 获取默认线程池，空闲线程60秒后回收，线程为守护线程
+     * Get the default executor, idle threads are reclaimed after 60 seconds and threads are daemons
+     *
+     * @return Executor
+     */
+    public static Executor defaultExecutor() {
+        return Holder.EXECUTOR;
+    }
+
+    private static final class Holder {
+
+        private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+        private static final ExecutorService EXECUTOR = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+                60L, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "excel-async-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
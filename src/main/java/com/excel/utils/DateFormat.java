@@ -3,22 +3,213 @@ package com.excel.utils;
 import com.excel.exception.ExcelException;
 
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
 import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DateFormat {
 
-    public static String format(Date date,String format) {
-        SimpleDateFormat sdf = new SimpleDateFormat(format);
-        return sdf.format(date);
+    public static final String DEFAULT_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    public static final String DEFAULT_DATE_PATTERN = "yyyy-MM-dd";
+
+    /**
+     * 缓存的格式数量上限，格式来自注解，正常情况下远小于该值
+     * Upper bound of cached patterns, patterns come from annotations and normally stay far below it
+     */
+    private static final int MAX_CACHED_PATTERNS = 256;
+
+    /**
+     * 值为空表示 DateTimeFormatter 不支持的格式(如 aa、#、zzzzz)，这些格式交给 SimpleDateFormat 格式化和解析
+     * An empty value marks a pattern DateTimeFormatter rejects (such as aa, # or zzzzz), such patterns are formatted
+     * and parsed by SimpleDateFormat
+     */
+    private static final Map<String, Optional<DateTimeFormatter>> FORMATTERS = new ConcurrentHashMap<>();
+
+    private static final LocalDate EPOCH = LocalDate.of(1970, 1, 1);
+
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+
+    private static final double NANOS_PER_DAY = 86_400_000_000_000d;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /**
+     * 获取缓存的线程安全格式化器，DateTimeFormatter 不支持的格式返回 null
+     * Get a cached thread-safe formatter, null for a pattern DateTimeFormatter rejects
+     */
+    public static DateTimeFormatter formatter(String pattern) {
+        String key = pattern(pattern);
+        Optional<DateTimeFormatter> formatter = FORMATTERS.get(key);
+        if (formatter == null) {
+            try {
+                formatter = Optional.of(DateTimeFormatter.ofPattern(key));
+            } catch (IllegalArgumentException e) {
+                formatter = Optional.empty();
+            }
+            if (FORMATTERS.size() >= MAX_CACHED_PATTERNS) {
+                FORMATTERS.clear();
+            }
+            FORMATTERS.put(key, formatter);
+        }
+        return formatter.orElse(null);
+    }
+
+    public static String format(Date date, String format) {
+        return format(Instant.ofEpochMilli(date.getTime()), format);
+    }
+
+    public static String format(Instant instant, String format) {
+        return format(instant.atZone(ZoneId.systemDefault()), format);
+    }
+
+    public static String format(TemporalAccessor temporal, String format) {
+        DateTimeFormatter formatter = formatter(format);
+        if (formatter == null) {
+            return new SimpleDateFormat(pattern(format)).format(toDate(temporal));
+        }
+        return formatter.format(temporal);
+    }
+
+    /**
+     * 转成 SimpleDateFormat 使用的 Date，缺少的日期为1970-01-01，缺少的时间为0点，缺少的时区为系统时区
+     * Convert to the Date SimpleDateFormat works on, a missing date is 1970-01-01, a missing time is midnight and a
+     * missing zone is the system zone
+     */
+    private static Date toDate(TemporalAccessor temporal) {
+        if (temporal.isSupported(ChronoField.INSTANT_SECONDS)) {
+            return Date.from(Instant.from(temporal));
+        }
+        LocalDate date = temporal.query(TemporalQueries.localDate());
+        LocalTime time = temporal.query(TemporalQueries.localTime());
+        ZoneId zone = temporal.query(TemporalQueries.zone());
+        return Date.from(ZonedDateTime.of(date == null ? EPOCH : date, time == null ? LocalTime.MIDNIGHT : time,
+                zone == null ? ZoneId.systemDefault() : zone).toInstant());
     }
 
+    public static Date parse(String date, String format) {
+        return Date.from(parseZoned(date, format).toInstant());
+    }
 
-    public static Date parse(String date,String format) {
+    /**
+     * 解析成带时区的时间，缺少的时区为系统时区；没有时间字段时为0点。解析出的字段不能组成完整的日期和时间时(如 yyyy-MM、
+     * 没有 a 的 hh:mm)，或者输入不符合严格的格式时(如 yyyy-MM-dd 的 2020-1-5)，交给宽松的 SimpleDateFormat 解析，与以前的结果一致
+     * Parse to a zoned date time, a missing zone is the system zone and a pattern without time fields is midnight.
+     * When the parsed fields do not resolve to a full date and time (such as yyyy-MM, or hh:mm without a), or the
+     * input does not strictly match (such as 2020-1-5 for yyyy-MM-dd), the lenient SimpleDateFormat parses it, giving
+     * the same result as before; patterns DateTimeFormatter rejects always go to SimpleDateFormat
+     */
+    public static ZonedDateTime parseZoned(String value, String format) {
+        DateTimeFormatter formatter = formatter(format);
+        if (formatter != null) {
+            try {
+                TemporalAccessor parsed = formatter.parse(value);
+                LocalDate date = parsed.query(TemporalQueries.localDate());
+                LocalTime time = parsed.query(TemporalQueries.localTime());
+                if (date != null && (time != null || !hasTimeField(parsed))) {
+                    ZoneId zone = parsed.query(TemporalQueries.zone());
+                    return ZonedDateTime.of(date, time == null ? LocalTime.MIDNIGHT : time,
+                            zone == null ? ZoneId.systemDefault() : zone);
+                }
+            } catch (DateTimeParseException e) {
+                // not strictly matching, left to SimpleDateFormat below
+            }
+        }
         try {
-            SimpleDateFormat sdf = new SimpleDateFormat(format);
-            return sdf.parse(date);
-        }catch (Exception e){
+            return new SimpleDateFormat(pattern(format)).parse(value).toInstant().atZone(ZoneId.systemDefault());
+        } catch (Exception e) {
             throw new ExcelException(e);
         }
     }
+
+    private static boolean hasTimeField(TemporalAccessor parsed) {
+        for (ChronoField field : ChronoField.values()) {
+            if (field.isTimeBased() && parsed.isSupported(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String pattern(String pattern) {
+        return pattern == null || pattern.isEmpty() ? DEFAULT_PATTERN : pattern;
+    }
+
+    /**
+     * 转成excel日期数值，1900年之前的日期返回-1
+     * Convert to an Excel date number, dates before 1900 return -1
+     */
+    public static double toExcelDate(LocalDateTime dateTime) {
+        if (dateTime.getYear() < 1900) {
+            return -1;
+        }
+        long days = ChronoUnit.DAYS.between(EXCEL_EPOCH, dateTime.toLocalDate());
+        // Excel treats 1900 as a leap year, serial numbers before 1900-03-01 are one day smaller
+        if (days < 61) {
+            days--;
+        }
+        return days + dateTime.toLocalTime().toNanoOfDay() / NANOS_PER_DAY;
+    }
+
+    /**
+     * excel日期数值转成时间，精确到毫秒
+     * Convert an Excel date number to a date time, rounded to milliseconds
+     */
+    public static LocalDateTime fromExcelDate(double value) {
+        long days = (long) Math.floor(value);
+        long millis = Math.round((value - days) * MILLIS_PER_DAY);
+        LocalDate date = EXCEL_EPOCH.plusDays(days < 61 ? days + 1 : days);
+        return date.atStartOfDay().plus(millis, ChronoUnit.MILLIS);
+    }
+
+    /**
+     * java日期格式转成excel单元格格式，为空时使用 yyyy-MM-dd HH:mm:ss
+     * Convert a java date pattern to an Excel cell format, yyyy-MM-dd HH:mm:ss is used when it is empty
+     */
+    public static String toExcelFormat(String pattern) {
+        if (pattern == null || pattern.isEmpty()) {
+            return DEFAULT_PATTERN;
+        }
+        StringBuilder sb = new StringBuilder(pattern.length() + 8);
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int end = i;
+            while (end < pattern.length() && pattern.charAt(end) == c) {
+                end++;
+            }
+            int count = end - i;
+            if (c == '\'') {
+                int close = pattern.indexOf('\'', i + 1);
+                close = close < 0 ? pattern.length() : close;
+                sb.append('"').append(pattern, i + 1, close).append('"');
+                end = close + 1;
+            } else if (c == 'a') {
+                sb.append("AM/PM");
+            } else if (c == 'S') {
+                for (int j = 0; j < count; j++) {
+                    sb.append('0');
+                }
+            } else if (c == 'E') {
+                sb.append(count > 3 ? "dddd" : "ddd");
+            } else {
+                sb.append(pattern, i, end);
+            }
+            i = end;
+        }
+        return sb.toString();
+    }
 }
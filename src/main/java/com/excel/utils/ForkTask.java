@@ -0,0 +1,109 @@
+package com.excel.utils;
+
+import com.excel.exception.ExcelException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 提交到 executor 的任务，join 时如果还没有开始执行，就在 join 的线程中直接执行；executor 拒绝时也在提交的线程中执行
+ * Task submitted to an executor, if it has not started when joined it runs on the joining thread instead; it also
+ * runs on the submitting thread when the executor rejects it
+ * <p>
+ * 等待的线程本身可能就是 executor 中的线程(如 doReadAsync 和 executor 使用同一个有界线程池)，
+ * 这时排在它后面的任务永远得不到执行，只等待已经开始的任务可以避免死锁
+ * The waiting thread may itself be a thread of the executor (such as doReadAsync and executor sharing one bounded
+ * pool), tasks queued behind it would then never run; only waiting for tasks that have already started avoids the
+ * deadlock
+ *
+ * @param <V> result type
+ * @author heng.lei
+ */
+public final class ForkTask<V> {
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private final CompletableFuture<V> result = new CompletableFuture<>();
+
+    private final Supplier<V> task;
+
+    private ForkTask(Supplier<V> task) {
+        this.task = task;
+    }
+
+    /**
+     * 提交任务
+     * Submit a task
+     *
+     * @param task     任务(task)
+     * @param executor 线程池(executor)
+     * @param <V>      result type
+     * @return ForkTask
+     */
+    public static <V> ForkTask<V> fork(Supplier<V> task, Executor executor) {
+        ForkTask<V> fork = new ForkTask<>(task);
+        try {
+            executor.execute(fork::run);
+        } catch (RejectedExecutionException e) {
+            fork.run();
+        }
+        return fork;
+    }
+
+    /**
+     * 获取结果，任务还没有开始时在当前线程中执行；任务的异常原样抛出，受检异常包装成 ExcelException
+     * Get the result, running the task on the current thread if it has not started; exceptions of the task are
+     * rethrown as they are, checked ones wrapped in ExcelException
+     *
+     * @return 结果(result)
+     */
+    public V join() {
+        run();
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ExcelException((Exception) cause);
+        }
+    }
+
+    /**
+     * 取消任务：还没有开始时不再执行，已经开始时等待它结束并丢弃结果和异常
+     * Cancel the task: it never runs if it has not started, otherwise this waits for it to finish and discards its
+     * result and exception
+     * <p>
+     * 返回后任务不会再执行，调用方可以安全地释放任务使用的资源
+     * Once this returns the task will not run any more, so the caller can safely release what the task uses
+     *
+     * @return 任务是否在开始前被取消(whether the task was cancelled before it started)
+     */
+    public boolean cancel() {
+        if (started.compareAndSet(false, true)) {
+            result.cancel(false);
+            return true;
+        }
+        result.handle((value, e) -> null).join();
+        return false;
+    }
+
+    private void run() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            result.complete(task.get());
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        }
+    }
+}
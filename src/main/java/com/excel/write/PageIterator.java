@@ -0,0 +1,97 @@
+package com.excel.write;
+
+import com.excel.utils.ForkTask;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * 按页拉取数据的迭代器，supplier 返回null或空页时结束
+ * Iterator that pulls data page by page, it ends when the supplier returns null or an empty page
+ * <p>
+ * 指定 executor 时，写入当前页的同时在 executor 上预取下一页，supplier 不会被并发调用；内存中最多保留当前页和预取的下一页两页，
+ * 没有 executor 时只保留当前页
+ * With an executor the next page is prefetched on it while the current page is written, the supplier is never
+ * called concurrently; at most two pages are held in memory, the current one and the prefetched one, and only the
+ * current page without an executor
+ * <p>
+ * close 取消还没有开始的预取，或等待已经开始的预取结束，之后 supplier 不会再被调用，写入失败时也可以安全地关闭数据源
+ * close cancels a prefetch that has not started or waits for one that has, the supplier is never called after it,
+ * so the data source can be closed safely even when the write fails
+ *
+ * @author heng.lei
+ */
+public class PageIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private final Supplier<? extends List<T>> pages;
+
+    private final Executor executor;
+
+    private Iterator<T> current = Collections.emptyIterator();
+
+    private ForkTask<List<T>> next;
+
+    private boolean finished;
+
+    /**
+     * @param pages    分页数据(pages of data)
+     * @param executor 预取下一页的线程池(executor prefetching the next page)，null表示不预取(null disables prefetching)
+     */
+    public PageIterator(Supplier<? extends List<T>> pages, Executor executor) {
+        this.pages = pages;
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (finished) {
+                return false;
+            }
+            List<T> page = nextPage();
+            if (page == null || page.isEmpty()) {
+                finished = true;
+                return false;
+            }
+            current = page.iterator();
+            if (executor != null) {
+                next = ForkTask.fork(pages::get, executor);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * 取消或等待预取的下一页
+     * Cancel or wait for the prefetch of the next page
+     */
+    @Override
+    public void close() {
+        finished = true;
+        if (next != null) {
+            next.cancel();
+            next = null;
+        }
+    }
+
+    private List<T> nextPage() {
+        if (next == null) {
+            return pages.get();
+        }
+        ForkTask<List<T>> fetch = next;
+        next = null;
+        return fetch.join();
+    }
+}
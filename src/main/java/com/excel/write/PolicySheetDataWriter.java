@@ -0,0 +1,109 @@
+package com.excel.write;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.TempFile;
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 按列决定字符串写入共享字符串表还是内联的 SheetDataWriter
+ * SheetDataWriter that decides per column whether strings go to the shared strings table or inline
+ *
+ * @author heng.lei
+ */
+public class PolicySheetDataWriter extends SheetDataWriter {
+
+    private final SharedStringsTable sharedStrings;
+
+    private final SharedStringsPolicy policy;
+
+    /**
+     * 在父类构造器中通过 createWriter 赋值，不能有初始值
+     * Assigned through createWriter from the super constructor, must not have an initializer
+     */
+    private Writer out;
+
+    public PolicySheetDataWriter(SharedStringsTable sharedStrings, SharedStringsPolicy policy) throws IOException {
+        super(sharedStrings);
+        this.sharedStrings = sharedStrings;
+        this.policy = policy;
+    }
+
+    @Override
+    public Writer createWriter(File fd) throws IOException {
+        Writer writer = super.createWriter(fd);
+        this.out = writer;
+        return writer;
+    }
+
+    @Override
+    public void writeCell(int columnIndex, Cell cell) throws IOException {
+        if (cell == null || sharedStrings == null || cell.getCellType() != CellType.STRING) {
+            super.writeCell(columnIndex, cell);
+            return;
+        }
+        // sheets may be flushed from several threads, the shared strings table is not thread-safe
+        synchronized (sharedStrings) {
+            if (!policy.isInline(columnIndex, sharedStrings)) {
+                super.writeCell(columnIndex, cell);
+                return;
+            }
+        }
+        String value = cell.getStringCellValue();
+        out.write("<c r=\"");
+        out.write(new CellReference(cell.getRowIndex(), columnIndex).formatAsString());
+        out.write('"');
+        int style = cell.getCellStyle().getIndex() & 0xffff;
+        if (style != 0) {
+            out.write(" s=\"");
+            out.write(Integer.toString(style));
+            out.write('"');
+        }
+        out.write(" t=\"inlineStr\"><is><t");
+        if (!value.isEmpty() && (Character.isWhitespace(value.charAt(0))
+                || Character.isWhitespace(value.charAt(value.length() - 1)))) {
+            out.write(" xml:space=\"preserve\"");
+        }
+        out.write('>');
+        outputQuotedString(value);
+        out.write("</t></is></c>");
+    }
+
+    /**
+     * 压缩临时文件的版本
+     * Variant with compressed temp files
+     */
+    public static class Gzip extends PolicySheetDataWriter {
+
+        public Gzip(SharedStringsTable sharedStrings, SharedStringsPolicy policy) throws IOException {
+            super(sharedStrings, policy);
+        }
+
+        @Override
+        public File createTempFile() throws IOException {
+            return TempFile.createTempFile("poi-sxssf-sheet-xml", ".gz");
+        }
+
+        @Override
+        protected InputStream decorateInputStream(FileInputStream fis) throws IOException {
+            return new GZIPInputStream(fis);
+        }
+
+        @Override
+        protected OutputStream decorateOutputStream(FileOutputStream fos) throws IOException {
+            return new GZIPOutputStream(fos);
+        }
+    }
+}
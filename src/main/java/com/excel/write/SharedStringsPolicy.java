@@ -0,0 +1,78 @@
+package com.excel.write;
+
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCell;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTRst;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellType;
+
+import java.util.BitSet;
+
+/**
+ * 每一列字符串单元格的存储方式，共享字符串表有大小上限
+ * Storage of the string cells of each column, the shared strings table is bounded
+ *
+ * @author heng.lei
+ */
+public final class SharedStringsPolicy {
+
+    /**
+     * 共享字符串表默认的不同字符串上限
+     * Default upper bound of distinct strings in the shared strings table
+     */
+    public static final int DEFAULT_LIMIT = 1 << 16;
+
+    private final BitSet inlineColumns;
+
+    private final boolean sharedColumns;
+
+    private final int limit;
+
+    /**
+     * @param inlineColumns 内联写入的列(columns written inline)
+     * @param sharedColumns 是否有列使用共享字符串表(whether any column uses the shared strings table)
+     * @param limit         共享字符串表的不同字符串上限(upper bound of distinct strings in the shared strings table)
+     */
+    public SharedStringsPolicy(BitSet inlineColumns, boolean sharedColumns, int limit) {
+        this.inlineColumns = (BitSet) inlineColumns.clone();
+        this.sharedColumns = sharedColumns;
+        this.limit = limit;
+    }
+
+    /**
+     * 是否有列使用共享字符串表
+     * Whether any column uses the shared strings table
+     */
+    public boolean hasSharedColumns() {
+        return sharedColumns;
+    }
+
+    /**
+     * 该列的字符串是否内联写入，共享字符串表已满时也内联
+     * Whether the strings of the column are written inline, they are also inline once the shared strings table is full
+     *
+     * @param column        列号(column index)
+     * @param sharedStrings 共享字符串表(shared strings table)
+     */
+    public boolean isInline(int column, SharedStringsTable sharedStrings) {
+        return inlineColumns.get(column) || sharedStrings.getUniqueCount() >= limit;
+    }
+
+    /**
+     * 以内联字符串写入内存中的单元格
+     * Write an in-memory cell as an inline string
+     *
+     * @param cell  单元格(cell)
+     * @param value 字符串(string)
+     */
+    public static void setInline(XSSFCell cell, String value) {
+        CTCell ctCell = cell.getCTCell();
+        if (ctCell.isSetV()) {
+            ctCell.unsetV();
+        }
+        CTRst text = CTRst.Factory.newInstance();
+        text.setT(value);
+        ctCell.setT(STCellType.INLINE_STR);
+        ctCell.setIs(text);
+    }
+}
@@ -0,0 +1,200 @@
+package com.excel.write;
+
+import com.excel.meta.ExcelColumn;
+import com.excel.meta.FieldMapping;
+import com.excel.style.StyleKey;
+import com.excel.style.StylePool;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 把实体类写成sheet的表头和数据行，样式在构造时按列解析一次
+ * Writes entities as the header and data rows of sheets, styles are resolved once per column on construction
+ * <p>
+ * 创建sheet必须在同一个线程中进行；流式写入时不同sheet的数据行可以并发写入
+ * Sheets must be created from a single thread; when streaming, the data rows of different sheets may be written
+ * concurrently
+ *
+ * @author heng.lei
+ */
+public class SheetWriter {
+
+    private final Workbook workbook;
+
+    private final FieldMapping[] fields;
+
+    private final int fieldCount;
+
+    private final SharedStringsPolicy stringsPolicy;
+
+    private final StylePool stylePool;
+
+    private final CellStyle[] dataStyles;
+
+    private final boolean[] stringColumns;
+
+    /**
+     * SXSSF在刷新行时应用字符串策略，内存中写入时在这里设置内联字符串
+     * SXSSF applies the policy while flushing rows, in memory the inline strings are set here
+     */
+    private final SharedStringsTable sharedStrings;
+
+    private final List<Sheet> sheets = new ArrayList<>();
+
+    private final int lastColumn;
+
+    private final AtomicLong rowCount = new AtomicLong();
+
+    private long headerNanos;
+
+    /**
+     * @param workbook      workbook
+     * @param fields        字段映射(field mappings)
+     * @param fieldCount    声明的字段数(number of declared fields)
+     * @param stringsPolicy 字符串策略(string policy)
+     */
+    public SheetWriter(Workbook workbook, FieldMapping[] fields, int fieldCount, SharedStringsPolicy stringsPolicy) {
+        this.workbook = workbook;
+        this.fields = fields;
+        this.fieldCount = fieldCount;
+        this.stringsPolicy = stringsPolicy;
+        this.stylePool = new StylePool(workbook);
+        this.dataStyles = new CellStyle[fields.length];
+        this.stringColumns = new boolean[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            dataStyles[i] = stylePool.data(fields[i].getCodec(), fields[i].getFormat());
+            stringColumns[i] = fields[i].getCodec().cellType() == CellType.STRING;
+        }
+        this.sharedStrings = workbook instanceof XSSFWorkbook
+                ? ((XSSFWorkbook) workbook).getSharedStringSource() : null;
+        int last = fieldCount - 1;
+        for (FieldMapping field : fields) {
+            last = Math.max(last, field.getWriteColumn());
+        }
+        this.lastColumn = Math.max(last, 0);
+    }
+
+    /**
+     * 创建sheet并写入表头
+     * Create a sheet and write its header
+     *
+     * @param name sheet name
+     * @return Sheet
+     */
+    public Sheet createSheet(String name) {
+        long start = System.nanoTime();
+        Sheet sheet = workbook.createSheet(name);
+        sheets.add(sheet);
+        Row headerRow = sheet.createRow(0);
+        for (int i = 0; i < fieldCount; i++) {
+            headerRow.createCell(i);
+        }
+        for (FieldMapping field : fields) {
+            ExcelColumn column = field.getColumn();
+            Cell cell = headerRow.getCell(field.getFieldIndex());
+            if (column.getHeight() >= 0) {
+                headerRow.setHeight(column.getHeight());
+            }
+            if (column.getWidth() >= 0) {
+                sheet.setColumnWidth(field.getFieldIndex(), column.getWidth());
+            }
+            cell.setCellStyle(stylePool.get(StyleKey.header(column)));
+            cell.setCellValue(column.getValue());
+        }
+        headerNanos += System.nanoTime() - start;
+        return sheet;
+    }
+
+    /**
+     * 从 firstRow 开始写入数据行，最多写 maxRows 行
+     * Write data rows starting at firstRow, at most maxRows rows are written
+     *
+     * @param sheet    sheet
+     * @param data     数据(data)
+     * @param firstRow 第一行的行号(index of the first row)
+     * @param maxRows  最多写入的行数(maximum number of rows to write)
+     * @return 写入的行数(number of rows written)
+     */
+    public int writeRows(Sheet sheet, Iterator<?> data, int firstRow, int maxRows) {
+        int count = 0;
+        while (count < maxRows && data.hasNext()) {
+            writeRow(sheet.createRow(firstRow + count), data.next());
+            count++;
+        }
+        rowCount.addAndGet(count);
+        return count;
+    }
+
+    /**
+     * 写入一行数据
+     * Write one data row
+     *
+     * @param row  行(row)
+     * @param data 实体类(object)
+     */
+    public void writeRow(Row row, Object data) {
+        for (int j = 0; j < fields.length; j++) {
+            int column = fields[j].getWriteColumn();
+            Cell cell = row.createCell(column);
+            if (dataStyles[j] != null) {
+                cell.setCellStyle(dataStyles[j]);
+            }
+            if (sharedStrings != null && stringColumns[j] && stringsPolicy.isInline(column, sharedStrings)) {
+                String content = fields[j].write(data);
+                if (!content.isEmpty()) {
+                    SharedStringsPolicy.setInline((XSSFCell) cell, content);
+                }
+            } else {
+                fields[j].writeCell(cell, data);
+            }
+        }
+    }
+
+    /**
+     * writeRows 写入的总行数
+     * Total number of rows written by writeRows
+     */
+    public long getRowCount() {
+        return rowCount.get();
+    }
+
+    /**
+     * 创建sheet和写入表头的总耗时，纳秒
+     * Total time spent creating sheets and writing headers, in nanoseconds
+     */
+    public long getHeaderNanos() {
+        return headerNanos;
+    }
+
+    /**
+     * 写出workbook之前调用；SXSSF的sheet不会写出实际的维度信息(总是A1)，在这里补上，读取时才能据此估计行数
+     * Called before the workbook is written out; SXSSF sheets never write their actual dimension (always A1), it is
+     * filled in here so readers can estimate the row count from it
+     */
+    public void finish() {
+        if (!(workbook instanceof SXSSFWorkbook)) {
+            return;
+        }
+        XSSFWorkbook xssfWorkbook = ((SXSSFWorkbook) workbook).getXSSFWorkbook();
+        for (Sheet sheet : sheets) {
+            int lastRow = Math.max(sheet.getLastRowNum(), ((SXSSFSheet) sheet).getLastFlushedRowNum());
+            String ref = new CellRangeAddress(0, lastRow, 0, lastColumn).formatAsString();
+            xssfWorkbook.getSheet(sheet.getSheetName()).getCTWorksheet().getDimension().setRef(ref);
+        }
+    }
+}
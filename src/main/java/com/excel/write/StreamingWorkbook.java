@@ -0,0 +1,120 @@
+package com.excel.write;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.poi.openxml4j.util.ZipArchiveThresholdInputStream;
+import org.apache.poi.openxml4j.util.ZipEntrySource;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.util.IOUtils;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 按 SharedStringsPolicy 写字符串的 SXSSFWorkbook，输出zip使用指定的压缩级别
+ * SXSSFWorkbook that writes strings according to a SharedStringsPolicy, the output zip uses the given deflate level
+ *
+ * @author heng.lei
+ */
+public class StreamingWorkbook extends SXSSFWorkbook {
+
+    private final SharedStringsPolicy policy;
+
+    private final int deflateLevel;
+
+    /**
+     * @param rowAccessWindowSize 行窗口大小(row window size)
+     * @param compressTempFiles   是否压缩临时文件(compress the temp files or not)
+     * @param sharedStrings       是否启用共享字符串表(enable the shared strings table or not)
+     * @param policy              字符串策略(string policy)
+     * @param deflateLevel        输出zip的压缩级别(deflate level of the output zip)
+     */
+    public StreamingWorkbook(int rowAccessWindowSize, boolean compressTempFiles, boolean sharedStrings,
+                             SharedStringsPolicy policy, int deflateLevel) {
+        super(null, rowAccessWindowSize, compressTempFiles, sharedStrings);
+        this.policy = policy;
+        this.deflateLevel = deflateLevel;
+    }
+
+    @Override
+    protected SheetDataWriter createSheetDataWriter() throws IOException {
+        if (isCompressTempFiles()) {
+            return new PolicySheetDataWriter.Gzip(getSharedStringSource(), policy);
+        }
+        return new PolicySheetDataWriter(getSharedStringSource(), policy);
+    }
+
+    /**
+     * 与父类相同，把临时文件中的行数据注入模板的sheet中，只是输出zip使用指定的压缩级别；模板中的sheet很小，在内存中拆分
+     * Same as the super class, the row data of the temp files is injected into the sheets of the template, only the
+     * output zip uses the given deflate level; the template sheets are small and split in memory
+     */
+    @Override
+    protected void injectData(ZipEntrySource zipEntrySource, OutputStream out) throws IOException {
+        Map<String, SXSSFSheet> sheets = new HashMap<>();
+        for (Sheet sheet : this) {
+            String part = getXSSFWorkbook().getSheet(sheet.getSheetName()).getPackagePart().getPartName().getName();
+            sheets.put(part.substring(1), (SXSSFSheet) sheet);
+        }
+        ZipArchiveOutputStream zos = new ZipArchiveOutputStream(out);
+        zos.setLevel(deflateLevel);
+        try {
+            Enumeration<? extends ZipArchiveEntry> entries = zipEntrySource.getEntries();
+            while (entries.hasMoreElements()) {
+                ZipArchiveEntry entry = entries.nextElement();
+                ZipArchiveEntry outEntry = new ZipArchiveEntry(entry.getName());
+                outEntry.setTime(entry.getTime());
+                zos.putArchiveEntry(outEntry);
+                try (InputStream in = zipEntrySource.getInputStream(entry)) {
+                    if (in instanceof ZipArchiveThresholdInputStream) {
+                        // same as the super class, rows of repetitive data must not trip the zip bomb guard
+                        ((ZipArchiveThresholdInputStream) in).setGuardState(false);
+                    }
+                    SXSSFSheet sheet = sheets.get(entry.getName());
+                    if (sheet != null) {
+                        try (InputStream rows = sheet.getWorksheetXMLInputStream()) {
+                            injectRows(in, zos, rows);
+                        }
+                    } else {
+                        IOUtils.copy(in, zos);
+                    }
+                } finally {
+                    zos.closeArchiveEntry();
+                }
+            }
+        } finally {
+            zos.finish();
+            zipEntrySource.close();
+        }
+    }
+
+    private static void injectRows(InputStream template, OutputStream out, InputStream rows) throws IOException {
+        String xml = new String(IOUtils.toByteArray(template), StandardCharsets.UTF_8);
+        int empty = xml.indexOf("<sheetData/>");
+        String head;
+        String tail;
+        if (empty >= 0) {
+            head = xml.substring(0, empty) + "<sheetData>";
+            tail = xml.substring(empty + "<sheetData/>".length());
+        } else {
+            int end = xml.indexOf("</sheetData>");
+            if (end < 0) {
+                throw new IOException("sheetData not found in the template sheet");
+            }
+            head = xml.substring(0, end);
+            tail = xml.substring(end + "</sheetData>".length());
+        }
+        out.write(head.getBytes(StandardCharsets.UTF_8));
+        IOUtils.copy(rows, out);
+        out.write("</sheetData>".getBytes(StandardCharsets.UTF_8));
+        out.write(tail.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,747 @@
+package com.excel.write;
+
+import com.excel.exception.ExcelException;
+import com.excel.meta.FieldMapping;
+import com.excel.utils.DateFormat;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.poi.ooxml.util.SAXHelper;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 把数据行追加到已有xlsx文件中某个sheet的末尾，不把文件加载到内存中
+ * Appends data rows to the end of a sheet of an existing xlsx file without loading the file into memory
+ * <p>
+ * 先以SAX扫描一遍sheet，得到最后一行的行号和各列样式；新行写入临时文件；最后重新打包：sheet的xml按字节流式复制，
+ * 在 sheetData 结束前插入新行并更新维度信息，其余zip条目不解压原样复制。耗时与文件字节数成正比，堆内存占用恒定
+ * The sheet is scanned once with SAX for the number of its last row and the style of each column; new rows go to a
+ * temp file; then the package is rebuilt: the sheet xml is copied as a byte stream with the new rows inserted before
+ * the end of sheetData and the dimension updated, all other zip entries are copied raw without inflating them. The
+ * time is proportional to the byte size of the file and the heap usage is constant
+ * <p>
+ * 新的字符串以内联写入，共享字符串表不变；新单元格沿用最后一个数据行同一列的样式。自动筛选、表格等引用的区域不会扩展
+ * New strings are written inline and the shared strings table is left as is; new cells take the style of the same
+ * column in the last data row. Ranges referenced by auto filters, tables and the like are not extended
+ * <p>
+ * 写满后滚动到编号sheet(sheet、sheet_2、sheet_3...)的文件，追加到已存在的最后一个编号sheet；它写满时抛出异常，不会新建sheet
+ * For files that rolled over to numbered sheets (sheet, sheet_2, sheet_3...), rows go to the last numbered sheet that
+ * exists; once it is full an exception is thrown, no new sheet is created
+ *
+ * @author heng.lei
+ */
+public class XlsxAppender implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File file;
+
+    private final IntFunction<String> sheetNames;
+
+    /**
+     * 追加的目标sheet，open 时确定
+     * Sheet appended to, decided by open
+     */
+    private String sheetName;
+
+    private final FieldMapping[] fields;
+
+    private final int maxRowsPerSheet;
+
+    private final int lastColumn;
+
+    private final int deflateLevel;
+
+    private ZipFile zip;
+
+    private String sheetEntry;
+
+    private String stylesEntry;
+
+    private SheetScanner scan;
+
+    private StylesTable styles;
+
+    /**
+     * 新建了样式时才写回 styles.xml
+     * styles.xml is only written back when a style was created
+     */
+    private boolean stylesChanged;
+
+    private RowsWriter rows;
+
+    private long rowCount;
+
+    /**
+     * @param file            已有的xlsx文件(existing xlsx file)
+     * @param sheetNames      第几个编号sheet的名称，从0开始(name of the numbered sheet at an index, from 0)
+     * @param fields          字段映射(field mappings)
+     * @param maxRowsPerSheet sheet中最多的数据行数(maximum number of data rows in the sheet)
+     * @param deflateLevel    改写的条目的压缩级别(deflate level of the rewritten entries)
+     */
+    public XlsxAppender(File file, IntFunction<String> sheetNames, FieldMapping[] fields, int maxRowsPerSheet,
+                        int deflateLevel) {
+        this.file = file;
+        this.sheetNames = sheetNames;
+        this.fields = fields;
+        this.maxRowsPerSheet = maxRowsPerSheet;
+        this.deflateLevel = deflateLevel;
+        int last = 0;
+        for (FieldMapping field : fields) {
+            last = Math.max(last, field.getWriteColumn());
+        }
+        this.lastColumn = last;
+    }
+
+    /**
+     * 找到最后一个编号sheet并扫描一遍，得到最后一行的行号和各列样式；只有最后一行按xml解析，其余行只按字节查找
+     * Find the last numbered sheet and scan it once for the number of its last row and the style of each column; only
+     * the last row is parsed as xml, the other rows are only searched as bytes
+     */
+    public void open() throws IOException, SAXException, OpenXML4JException, ParserConfigurationException {
+        OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ);
+        try {
+            Map<String, PackagePart> sheetParts = new HashMap<>();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) new XSSFReader(pkg).getSheetsData();
+            while (sheets.hasNext()) {
+                sheets.next().close();
+                sheetParts.putIfAbsent(sheets.getSheetName().toLowerCase(Locale.ROOT), sheets.getSheetPart());
+            }
+            int index = 0;
+            while (sheetParts.containsKey(sheetNames.apply(index + 1).toLowerCase(Locale.ROOT))) {
+                index++;
+            }
+            sheetName = sheetNames.apply(index);
+            PackagePart part = sheetParts.get(sheetName.toLowerCase(Locale.ROOT));
+            if (part != null) {
+                try (InputStream sheetStream = part.getInputStream()) {
+                    SheetScanner scanner = new SheetScanner(lastColumn + 1);
+                    scanner.scan(sheetStream);
+                    sheetEntry = entryName(part);
+                    scan = scanner;
+                }
+            }
+            List<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.STYLES.getContentType());
+            if (!parts.isEmpty()) {
+                stylesEntry = entryName(parts.get(0));
+                styles = new StylesTable(parts.get(0));
+            }
+        } finally {
+            pkg.revert();
+        }
+        if (scan == null) {
+            throw new ExcelException("Sheet not found");
+        }
+        if (scan.sheetDataName == null) {
+            throw new ExcelException("sheetData not found in " + sheetEntry);
+        }
+        zip = new ZipFile(file);
+        ZipArchiveEntry entry = zip.getEntry(sheetEntry);
+        if (entry == null) {
+            throw new ExcelException("sheet entry not found: " + sheetEntry);
+        }
+        try (InputStream in = zip.getInputStream(entry)) {
+            scan.scanRows(in);
+        }
+        if (scan.lastRow == 0) {
+            throw new ExcelException("sheet has no header row to append to");
+        }
+    }
+
+    /**
+     * 把数据写成新行，存入临时文件
+     * Write the data as new rows into a temp file
+     *
+     * @param data 数据(data)
+     * @return 写入的行数(number of rows written)
+     */
+    public long writeRows(Iterator<?> data) throws IOException {
+        int[] columnStyles = resolveStyles();
+        String[] columnNames = new String[lastColumn + 1];
+        for (int i = 0; i < columnNames.length; i++) {
+            columnNames[i] = CellReference.convertNumToColString(i);
+        }
+        rows = new RowsWriter(columnNames, columnStyles);
+        // cells are filled by the codecs on a row of a throwaway sheet that is never flushed
+        SXSSFWorkbook workbook = new SXSSFWorkbook(-1);
+        try {
+            SXSSFSheet sheet = workbook.createSheet();
+            int rowNum = scan.lastRow;
+            while (data.hasNext()) {
+                if (rowNum > maxRowsPerSheet) {
+                    throw new ExcelException("sheet " + sheetName + " is full, at most " + maxRowsPerSheet
+                            + " data rows, appending does not create a new sheet");
+                }
+                Object bean = data.next();
+                Row row = sheet.createRow(rowNum);
+                for (FieldMapping field : fields) {
+                    field.writeCell(row.createCell(field.getWriteColumn()), bean);
+                }
+                rows.writeRow(rowNum, row);
+                sheet.removeRow(row);
+                rowNum++;
+                rowCount++;
+            }
+            rows.close();
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+        return rowCount;
+    }
+
+    /**
+     * 重新打包并替换原文件；sheet的xml流式改写，其余条目原样复制
+     * Rebuild the package and replace the original file; the sheet xml is rewritten as a stream, the other entries
+     * are copied raw
+     */
+    public void commit() throws IOException {
+        if (rowCount == 0) {
+            return;
+        }
+        File target = File.createTempFile("excel-append", ".xlsx", file.getAbsoluteFile().getParentFile());
+        try {
+            try (ZipArchiveOutputStream out = new ZipArchiveOutputStream(target)) {
+                out.setLevel(deflateLevel);
+                Enumeration<ZipArchiveEntry> entries = zip.getEntriesInPhysicalOrder();
+                while (entries.hasMoreElements()) {
+                    ZipArchiveEntry entry = entries.nextElement();
+                    if (entry.getName().equals(sheetEntry)) {
+                        out.putArchiveEntry(new ZipArchiveEntry(entry.getName()));
+                        try (InputStream in = zip.getInputStream(entry)) {
+                            copySheet(in, out);
+                        }
+                        out.closeArchiveEntry();
+                    } else if (stylesChanged && entry.getName().equals(stylesEntry)) {
+                        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                        styles.writeTo(bytes);
+                        out.putArchiveEntry(new ZipArchiveEntry(entry.getName()));
+                        bytes.writeTo(out);
+                        out.closeArchiveEntry();
+                    } else {
+                        out.addRawArchiveEntry(entry, zip.getRawInputStream(entry));
+                    }
+                }
+            }
+            zip.close();
+            zip = null;
+            Files.move(target.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(target.toPath());
+        }
+    }
+
+    /**
+     * 追加的行数
+     * Number of rows appended
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 关闭原文件并删除临时文件
+     * Close the original file and delete the temp files
+     */
+    @Override
+    public void close() {
+        try {
+            if (zip != null) {
+                zip.close();
+            }
+        } catch (IOException ignored) {
+            // the file was only read
+        }
+        if (rows != null) {
+            rows.delete();
+        }
+    }
+
+    /**
+     * 每列的样式下标：最后一个数据行同一列有单元格时沿用它的样式，否则日期和带格式的数字新建样式
+     * Style index of each column: the style of the same column in the last data row when it has a cell there,
+     * otherwise dates and formatted numbers get a new style
+     */
+    private int[] resolveStyles() {
+        int[] columnStyles = new int[lastColumn + 1];
+        Map<String, Integer> created = new HashMap<>();
+        for (FieldMapping field : fields) {
+            int column = field.getWriteColumn();
+            int style = scan.lastStyles[column];
+            if (style < 0) {
+                String format = dataFormat(field);
+                style = format == null ? 0 : created.computeIfAbsent(format, this::createStyle);
+            }
+            columnStyles[column] = style;
+        }
+        return columnStyles;
+    }
+
+    /**
+     * 与 StylePool.data 一致，只有日期和带格式的数字有数据格式
+     * Same as StylePool.data, only dates and formatted numbers have a data format
+     */
+    private static String dataFormat(FieldMapping field) {
+        if (field.getCodec().isDate()) {
+            return DateFormat.toExcelFormat(field.getFormat());
+        }
+        if (field.getCodec().cellType() == CellType.NUMERIC && !field.getFormat().isEmpty()) {
+            return field.getFormat();
+        }
+        return null;
+    }
+
+    private int createStyle(String format) {
+        if (styles == null) {
+            return 0;
+        }
+        int dataFormat = BuiltinFormats.getBuiltinFormat(format);
+        if (dataFormat < 0) {
+            dataFormat = styles.putNumberFormat(format);
+        }
+        XSSFCellStyle style = styles.createCellStyle();
+        style.setDataFormat(dataFormat);
+        stylesChanged = true;
+        return style.getIndex() & 0xffff;
+    }
+
+    /**
+     * 复制sheet的xml：sheetData 之前的部分很小，在内存中改写维度信息；之后按字节复制，在 sheetData 结束前插入新行
+     * Copy the sheet xml: the part before sheetData is small and its dimension is rewritten in memory; the rest is
+     * copied as bytes with the new rows inserted before the end of sheetData
+     */
+    private void copySheet(InputStream in, OutputStream out) throws IOException {
+        ByteScanner scanner = new ByteScanner(in);
+        byte[] open = ("<" + scan.sheetDataName).getBytes(StandardCharsets.UTF_8);
+        byte[] close = ("</" + scan.sheetDataName + ">").getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream head = new ByteArrayOutputStream();
+        if (!scanner.copyUntil(head, open)) {
+            throw new ExcelException("sheetData not found in " + sheetEntry);
+        }
+        out.write(updateDimension(new String(head.toByteArray(), StandardCharsets.UTF_8))
+                .getBytes(StandardCharsets.UTF_8));
+        out.write(open);
+        ByteArrayOutputStream tag = new ByteArrayOutputStream();
+        if (!scanner.copyUntil(tag, new byte[]{'>'})) {
+            throw new ExcelException("sheetData not closed in " + sheetEntry);
+        }
+        byte[] attributes = tag.toByteArray();
+        boolean empty = attributes.length > 0 && attributes[attributes.length - 1] == '/';
+        out.write(attributes, 0, empty ? attributes.length - 1 : attributes.length);
+        out.write('>');
+        if (!empty && !scanner.copyUntil(out, close)) {
+            throw new ExcelException("sheetData not closed in " + sheetEntry);
+        }
+        Files.copy(rows.getFile().toPath(), out);
+        out.write(close);
+        scanner.copyRest(out);
+    }
+
+    private String updateDimension(String head) {
+        if (scan.dimensionName == null || rowCount == 0) {
+            return head;
+        }
+        Matcher matcher = Pattern.compile("<" + Pattern.quote(scan.dimensionName) + "\\s[^>]*?\\bref=\"([^\"]*)\"")
+                .matcher(head);
+        if (!matcher.find()) {
+            return head;
+        }
+        CellRangeAddress range = CellRangeAddress.valueOf(matcher.group(1));
+        int lastRow = (int) (scan.lastRow + rowCount - 1);
+        int last = Math.max(range.getLastColumn(), lastColumn);
+        String ref = new CellRangeAddress(range.getFirstRow(), lastRow, range.getFirstColumn(), last)
+                .formatAsString();
+        return head.substring(0, matcher.start(1)) + ref + head.substring(matcher.end(1));
+    }
+
+    private static String entryName(PackagePart part) {
+        return part.getPartName().getName().substring(1);
+    }
+
+    /**
+     * 扫描sheet：SAX只解析到 sheetData 开始为止，得到维度和 sheetData 元素的限定名；之后按字节查找行的开始标签，
+     * 只解析最后一行，得到它的行号和各列样式
+     * Scans a sheet: SAX only parses up to the start of sheetData for the qualified names of the dimension and
+     * sheetData elements; after that the start tags of rows are searched as bytes and only the last row is parsed for
+     * its number and the style of each column
+     */
+    private static final class SheetScanner extends DefaultHandler {
+
+        private static final Pattern ROW_NUMBER = Pattern.compile("\\br=\"(\\d+)\"");
+
+        private static final Pattern CELL_REF = Pattern.compile("\\br=\"([A-Z]+)\\d+\"");
+
+        private static final Pattern CELL_STYLE = Pattern.compile("\\bs=\"(\\d+)\"");
+
+        /**
+         * 最后一个数据行各列的样式下标，没有单元格时为-1
+         * Style index of each column in the last data row, -1 without a cell
+         */
+        private final int[] lastStyles;
+
+        /**
+         * 最后一行的行号，从1开始，没有行时为0
+         * Number of the last row, starts from 1, 0 without rows
+         */
+        private int lastRow;
+
+        private String dimensionName;
+
+        private String sheetDataName;
+
+        SheetScanner(int columns) {
+            lastStyles = new int[columns];
+            Arrays.fill(lastStyles, -1);
+        }
+
+        void scan(InputStream sheetStream) throws IOException, SAXException, ParserConfigurationException {
+            // the xml reader reads ahead, so the rows are scanned from a stream of their own in scanRows
+            XMLReader xmlReader = SAXHelper.newXMLReader();
+            xmlReader.setContentHandler(this);
+            try {
+                xmlReader.parse(new InputSource(sheetStream));
+            } catch (StopScan ignored) {
+                // sheetData reached
+            }
+        }
+
+        void scanRows(InputStream sheetStream) throws IOException {
+            String prefix = sheetDataName.substring(0, sheetDataName.length() - "sheetData".length());
+            ByteScanner scanner = new ByteScanner(sheetStream);
+            RowCapture row = new RowCapture(("</" + prefix + "row>").getBytes(StandardCharsets.UTF_8));
+            byte[] rowStart = ("<" + prefix + "row ").getBytes(StandardCharsets.UTF_8);
+            boolean found = false;
+            while (scanner.copyUntil(row, rowStart)) {
+                row.reset();
+                found = true;
+            }
+            if (found) {
+                parseLastRow(new String(row.toByteArray(), StandardCharsets.UTF_8), prefix);
+            }
+        }
+
+        /**
+         * @param row    最后一行开始标签 "&lt;row " 之后的文本(text after the start tag "&lt;row " of the last row)
+         * @param prefix 命名空间前缀(namespace prefix)
+         */
+        private void parseLastRow(String row, String prefix) {
+            int tagEnd = row.indexOf('>');
+            Matcher number = ROW_NUMBER.matcher(row.substring(0, Math.max(tagEnd, 0)));
+            if (!number.find()) {
+                throw new ExcelException("the last row has no row number");
+            }
+            lastRow = Integer.parseInt(number.group(1));
+            int end = row.indexOf("</" + prefix + "row>");
+            if (lastRow == 1 || row.charAt(tagEnd - 1) == '/' || end < 0) {
+                return;
+            }
+            Matcher cell = Pattern.compile("<" + Pattern.quote(prefix) + "c(\\s[^>]*)?>")
+                    .matcher(row.substring(tagEnd + 1, end));
+            int column = -1;
+            while (cell.find()) {
+                String attributes = cell.group(1) == null ? "" : cell.group(1);
+                Matcher ref = CELL_REF.matcher(attributes);
+                column = ref.find() ? CellReference.convertColStringToIndex(ref.group(1)) : column + 1;
+                if (column < lastStyles.length) {
+                    Matcher style = CELL_STYLE.matcher(attributes);
+                    lastStyles[column] = style.find() ? Integer.parseInt(style.group(1)) : 0;
+                }
+            }
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+                throws StopScan {
+            switch (localName) {
+                case "dimension":
+                    dimensionName = qName;
+                    break;
+                case "sheetData":
+                    sheetDataName = qName;
+                    throw new StopScan();
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static final class StopScan extends SAXException {
+    }
+
+    /**
+     * 只保留一行：从行的开始标签之后到 &lt;/row&gt; 或自闭合的开始标签为止，之后的字节(其余行之后的 mergeCells、
+     * hyperlinks 等)只被扫描不被保存，内存占用不超过一行
+     * Keeps one row only: from after the start tag of the row up to &lt;/row&gt; or a self-closing start tag, the
+     * bytes after it (mergeCells, hyperlinks and the like after the rows) are only scanned and not kept, so no more than
+     * one row is held
+     */
+    private static final class RowCapture extends ByteArrayOutputStream {
+
+        private final byte[] end;
+
+        private int matched;
+
+        private boolean inStartTag = true;
+
+        private int previous;
+
+        private boolean done;
+
+        RowCapture(byte[] end) {
+            this.end = end;
+        }
+
+        @Override
+        public void write(int b) {
+            if (done) {
+                return;
+            }
+            super.write(b);
+            if (inStartTag) {
+                if (b == '>') {
+                    inStartTag = false;
+                    done = previous == '/';
+                }
+                previous = b;
+                return;
+            }
+            if (b == end[matched]) {
+                done = ++matched == end.length;
+            } else {
+                matched = b == end[0] ? 1 : 0;
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int off, int len) {
+            for (int i = off; i < off + len && !done; i++) {
+                write(bytes[i]);
+            }
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            matched = 0;
+            inStartTag = true;
+            previous = 0;
+            done = false;
+        }
+    }
+
+    /**
+     * 按字节复制输入流，直到遇到指定的字节序列；序列只在第一个字节处出现'<'或只有一个字节，所以不需要回溯
+     * Copies an input stream as bytes until a given byte sequence; the sequence has '<' only at its first byte or is
+     * a single byte, so no backtracking is needed
+     */
+    private static final class ByteScanner {
+
+        private final InputStream in;
+
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+
+        private int pos;
+
+        private int limit;
+
+        ByteScanner(InputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * 复制到序列之前，序列本身被消费但不写出
+         * Copy up to the sequence, the sequence itself is consumed but not written
+         *
+         * @return 是否找到序列(whether the sequence was found)
+         */
+        boolean copyUntil(OutputStream out, byte[] sequence) throws IOException {
+            int matched = 0;
+            // bytes of the partial match that were read with an earlier buffer and are not written yet
+            int pending = 0;
+            while (true) {
+                if (pos == limit && !fill()) {
+                    out.write(sequence, 0, matched);
+                    return false;
+                }
+                int from = pos;
+                while (pos < limit) {
+                    byte b = buffer[pos++];
+                    if (b == sequence[matched]) {
+                        if (++matched == sequence.length) {
+                            out.write(buffer, from, pos - (matched - pending) - from);
+                            return true;
+                        }
+                    } else if (matched > 0) {
+                        if (pending > 0) {
+                            out.write(sequence, 0, pending);
+                            pending = 0;
+                        }
+                        matched = b == sequence[0] ? 1 : 0;
+                    }
+                }
+                int partial = matched - pending;
+                out.write(buffer, from, limit - partial - from);
+                pending = matched;
+            }
+        }
+
+        void copyRest(OutputStream out) throws IOException {
+            out.write(buffer, pos, limit - pos);
+            pos = limit;
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                out.write(buffer, 0, n);
+            }
+        }
+
+        private boolean fill() throws IOException {
+            int n = in.read(buffer);
+            pos = 0;
+            limit = Math.max(n, 0);
+            return n > 0;
+        }
+    }
+
+    /**
+     * 把新行写成sheet的xml片段，复用 SheetDataWriter 的临时文件和转义
+     * Writes new rows as a fragment of sheet xml, reusing the temp file and escaping of SheetDataWriter
+     */
+    private static final class RowsWriter extends SheetDataWriter {
+
+        private final String[] columnNames;
+
+        private final int[] columnStyles;
+
+        /**
+         * 在父类构造器中通过 createWriter 赋值，不能有初始值
+         * Assigned through createWriter from the super constructor, must not have an initializer
+         */
+        private Writer out;
+
+        RowsWriter(String[] columnNames, int[] columnStyles) throws IOException {
+            super();
+            this.columnNames = columnNames;
+            this.columnStyles = columnStyles;
+        }
+
+        @Override
+        public Writer createWriter(File fd) throws IOException {
+            Writer writer = super.createWriter(fd);
+            this.out = writer;
+            return writer;
+        }
+
+        void writeRow(int rowNum, Row row) throws IOException {
+            String number = Integer.toString(rowNum + 1);
+            out.write("<row r=\"");
+            out.write(number);
+            out.write("\">");
+            for (Cell cell : row) {
+                int column = cell.getColumnIndex();
+                CellType type = cell.getCellType();
+                int style = columnStyles[column];
+                if (type == CellType.BLANK && style == 0) {
+                    continue;
+                }
+                out.write("<c r=\"");
+                out.write(columnNames[column]);
+                out.write(number);
+                out.write('"');
+                if (style != 0) {
+                    out.write(" s=\"");
+                    out.write(Integer.toString(style));
+                    out.write('"');
+                }
+                switch (type) {
+                    case NUMERIC:
+                        out.write(" t=\"n\"><v>");
+                        out.write(Double.toString(cell.getNumericCellValue()));
+                        out.write("</v>");
+                        break;
+                    case BOOLEAN:
+                        out.write(" t=\"b\"><v>");
+                        out.write(cell.getBooleanCellValue() ? '1' : '0');
+                        out.write("</v>");
+                        break;
+                    case STRING:
+                        String value = cell.getStringCellValue();
+                        out.write(" t=\"inlineStr\"><is><t");
+                        if (!value.isEmpty() && (Character.isWhitespace(value.charAt(0))
+                                || Character.isWhitespace(value.charAt(value.length() - 1)))) {
+                            out.write(" xml:space=\"preserve\"");
+                        }
+                        out.write('>');
+                        outputQuotedString(value);
+                        out.write("</t></is>");
+                        break;
+                    case FORMULA:
+                        out.write("><f>");
+                        outputQuotedString(cell.getCellFormula());
+                        out.write("</f>");
+                        break;
+                    default:
+                        out.write('>');
+                        break;
+                }
+                out.write("</c>");
+            }
+            out.write("</row>");
+        }
+
+        File getFile() {
+            return getTempFile();
+        }
+
+        void delete() {
+            try {
+                close();
+            } catch (IOException ignored) {
+                // only the temp file is left, it is deleted below
+            }
+            getTempFile().delete();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.excel.utils;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 异步读写默认使用的线程池，JDK 21及以上每个任务一个虚拟线程
+ * Default executor of the asynchronous reads and writes, on JDK 21 and later every task runs on its own virtual thread
+ *
+ * @author heng.lei
+ */
+public final class AsyncExecutors {
+
+    private AsyncExecutors() {
+    }
+
+    /**
+     * 获取默认线程池，每个任务一个虚拟线程
+     * Get the default executor, every task runs on its own virtual thread
+     *
+     * @return Executor
+     */
+    public static Executor defaultExecutor() {
+        return Holder.EXECUTOR;
+    }
+
+    private static final class Holder {
+
+        private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("excel-async-", 1).factory());
+    }
+}